@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.benchmark;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JSON serialization, {@code equals} and {@code hashCode} of {@link LocalizedString}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LocalizedStringBenchmark {
+
+    @Param({"1", "5", "20", "50"})
+    public int localeCount;
+
+    private LocalizedString value;
+    private LocalizedString equalValue;
+    private String json;
+
+    @Setup
+    public void setup() {
+        value = LocalizedStringValues.create(localeCount);
+        equalValue = LocalizedStringValues.create(localeCount);
+        json = value.toJson();
+    }
+
+    @Benchmark
+    public String toJson() {
+        return value.toJson();
+    }
+
+    @Benchmark
+    public LocalizedString fromJson() {
+        return LocalizedString.fromJson(json);
+    }
+
+    @Benchmark
+    public boolean equalsEqualValue() {
+        return value.equals(equalValue);
+    }
+
+    @Benchmark
+    public int hashCodeValue() {
+        return value.hashCode();
+    }
+}
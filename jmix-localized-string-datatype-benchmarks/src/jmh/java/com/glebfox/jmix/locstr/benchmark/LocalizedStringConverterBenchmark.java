@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.benchmark;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.datatype.LocalizedStringConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link LocalizedStringConverter} in both directions, including the cost of
+ * its Flight Recorder events when recording is disabled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LocalizedStringConverterBenchmark {
+
+    @Param({"1", "5", "20", "50"})
+    public int localeCount;
+
+    private final LocalizedStringConverter converter = new LocalizedStringConverter();
+
+    private LocalizedString value;
+    private String dbData;
+
+    @Setup
+    public void setup() {
+        value = LocalizedStringValues.create(localeCount);
+        dbData = converter.convertToDatabaseColumn(value);
+    }
+
+    @Benchmark
+    public String convertToDatabaseColumn() {
+        return converter.convertToDatabaseColumn(value);
+    }
+
+    @Benchmark
+    public LocalizedString convertToEntityAttribute() {
+        return converter.convertToEntityAttribute(dbData);
+    }
+}
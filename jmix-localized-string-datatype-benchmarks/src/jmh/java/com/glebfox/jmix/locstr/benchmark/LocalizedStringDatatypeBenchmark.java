@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.benchmark;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.datatype.LocalizedStringDatatype;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link LocalizedStringDatatype#format(Object, Locale)} and
+ * {@link LocalizedStringDatatype#parse(String, Locale)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LocalizedStringDatatypeBenchmark {
+
+    @Param({"1", "5", "20", "50"})
+    public int localeCount;
+
+    private final LocalizedStringDatatype datatype = new LocalizedStringDatatype();
+
+    private LocalizedString value;
+    private Locale locale;
+    private String text;
+
+    @Setup
+    public void setup() {
+        value = LocalizedStringValues.create(localeCount);
+        // the last locale is the worst case for lookups in ordered structures
+        locale = LocalizedStringValues.locales(localeCount).get(localeCount - 1);
+        text = value.getValue(locale);
+    }
+
+    @Benchmark
+    public String format() {
+        return datatype.format(value, locale);
+    }
+
+    @Benchmark
+    public LocalizedString parse() throws ParseException {
+        return datatype.parse(text, locale);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.benchmark;
+
+import com.glebfox.jmix.locstr.action.LocalizedStringEditAction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares memory allocated per {@link LocalizedStringEditAction} instance when the editor dialog
+ * is created on the first execution (the current behavior) and in the constructor (the previous
+ * behavior). Every view field with the action creates an instance per session, so see the
+ * {@code gc.alloc.rate.norm} metric of the GC profiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class LocalizedStringEditActionBenchmark {
+
+    @Benchmark
+    public LocalizedStringEditAction lazyDialog() {
+        return new LocalizedStringEditAction();
+    }
+
+    @Benchmark
+    public LocalizedStringEditAction eagerDialog() {
+        return new EagerDialogEditAction();
+    }
+
+    /**
+     * Creates the dialog in the constructor as the action did before it was made lazy.
+     */
+    public static class EagerDialogEditAction extends LocalizedStringEditAction {
+
+        @Override
+        protected void initAction() {
+            super.initAction();
+            getDialog();
+        }
+    }
+}
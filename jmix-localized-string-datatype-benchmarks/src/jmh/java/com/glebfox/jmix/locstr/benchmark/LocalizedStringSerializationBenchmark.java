@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.benchmark;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Java serialization of {@link LocalizedString} in the compact form with the default
+ * form of a {@code HashMap<Locale, String>}, which the previous versions wrote. Serialized sizes
+ * are reported by the {@code bytes} secondary result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LocalizedStringSerializationBenchmark {
+
+    @Param({"1", "5", "20", "50"})
+    public int localeCount;
+
+    private LocalizedString value;
+    private Map<Locale, String> defaultFormValue;
+    private byte[] compactData;
+    private byte[] defaultFormData;
+
+    @Setup
+    public void setup() throws IOException {
+        value = LocalizedStringValues.create(localeCount);
+        defaultFormValue = new HashMap<>();
+        for (Locale locale : value.getLocales()) {
+            defaultFormValue.put(locale, value.getValue(locale));
+        }
+        compactData = serialize(value);
+        defaultFormData = serialize(defaultFormValue);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SizeCounter {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeCompact(SizeCounter counter) throws IOException {
+        byte[] data = serialize(value);
+        counter.bytes = data.length;
+        return data;
+    }
+
+    @Benchmark
+    public byte[] serializeDefault(SizeCounter counter) throws IOException {
+        byte[] data = serialize(defaultFormValue);
+        counter.bytes = data.length;
+        return data;
+    }
+
+    @Benchmark
+    public Object deserializeCompact() throws IOException, ClassNotFoundException {
+        return deserialize(compactData);
+    }
+
+    @Benchmark
+    public Object deserializeDefault() throws IOException, ClassNotFoundException {
+        return deserialize(defaultFormData);
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+}
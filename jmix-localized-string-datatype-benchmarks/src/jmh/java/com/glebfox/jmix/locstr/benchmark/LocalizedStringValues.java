@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.benchmark;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+
+import java.util.*;
+
+/**
+ * Creates {@link LocalizedString} values with the given number of locales for benchmarks.
+ */
+public final class LocalizedStringValues {
+
+    private LocalizedStringValues() {
+    }
+
+    /**
+     * Returns distinct locales that have a language and a country, in a stable order.
+     *
+     * @param count the number of locales
+     * @return locales
+     */
+    public static List<Locale> locales(int count) {
+        List<Locale> locales = Arrays.stream(Locale.getAvailableLocales())
+                .filter(locale -> !locale.getLanguage().isEmpty()
+                        && !locale.getCountry().isEmpty()
+                        && locale.getVariant().isEmpty()
+                        && locale.getScript().isEmpty())
+                .sorted(Comparator.comparing(Locale::toString))
+                .limit(count)
+                .toList();
+        if (locales.size() < count) {
+            throw new IllegalStateException("Not enough available locales: " + locales.size());
+        }
+        return locales;
+    }
+
+    /**
+     * Creates a value with a sentence per locale.
+     *
+     * @param localeCount the number of locales
+     * @return the value
+     */
+    public static LocalizedString create(int localeCount) {
+        Map<Locale, String> values = new HashMap<>();
+        for (Locale locale : locales(localeCount)) {
+            values.put(locale, "Product description in " + locale.getDisplayLanguage(locale)
+                    + " (" + locale.getDisplayCountry(locale) + ")");
+        }
+        return new LocalizedString(values);
+    }
+}
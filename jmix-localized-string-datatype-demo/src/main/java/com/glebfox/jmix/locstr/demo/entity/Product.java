@@ -16,15 +16,19 @@
 
 package com.glebfox.jmix.locstr.demo.entity;
 
+import com.glebfox.jmix.locstr.completeness.LocaleCompleteness;
 import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.search.FullTextIndexed;
 import io.jmix.core.entity.annotation.JmixGeneratedValue;
 import io.jmix.core.metamodel.annotation.InstanceName;
 import io.jmix.core.metamodel.annotation.JmixEntity;
+import io.jmix.data.PublishEntityChangedEvents;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.UUID;
 
+@PublishEntityChangedEvents
 @JmixEntity
 @Table(name = "LOCSTR_PRODUCT")
 @Entity(name = "locstr_Product")
@@ -34,15 +38,33 @@ public class Product {
     @Id
     private UUID id;
 
+    @Column(name = "VERSION", nullable = false)
+    @Version
+    private Integer version;
+
+    @FullTextIndexed
     @InstanceName
     @Column(name = "NAME", nullable = false)
     @NotNull
     private LocalizedString name;
 
+    @FullTextIndexed
     @Lob
     @Column(name = "DESCRIPTION")
     private LocalizedString description;
 
+    @LocaleCompleteness("description")
+    @Column(name = "DESCRIPTION_COMPLETENESS")
+    private Integer descriptionCompleteness;
+
+    public Integer getDescriptionCompleteness() {
+        return descriptionCompleteness;
+    }
+
+    public void setDescriptionCompleteness(Integer descriptionCompleteness) {
+        this.descriptionCompleteness = descriptionCompleteness;
+    }
+
     public LocalizedString getDescription() {
         return description;
     }
@@ -59,6 +81,14 @@ public class Product {
         this.name = name;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -19,9 +19,12 @@ package com.glebfox.jmix.locstr.demo.view.product;
 import com.glebfox.jmix.locstr.action.FieldGenerationContext;
 import com.glebfox.jmix.locstr.demo.entity.Product;
 import com.glebfox.jmix.locstr.demo.view.main.MainView;
+import com.glebfox.jmix.locstr.merge.LocalizedStringConflictMerger;
+import com.glebfox.jmix.locstr.merge.LocalizedStringSnapshot;
 import com.glebfox.jmix.locstr.validation.ValidationContext;
 import com.vaadin.flow.component.HasValueAndElement;
 import com.vaadin.flow.router.Route;
+import io.jmix.core.SaveContext;
 import io.jmix.flowui.UiComponents;
 import io.jmix.flowui.component.richtexteditor.RichTextEditor;
 import io.jmix.flowui.exception.ValidationException;
@@ -29,6 +32,8 @@ import io.jmix.flowui.kit.component.richtexteditor.RichTextEditorVariant;
 import io.jmix.flowui.view.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Set;
+
 @Route(value = "products/:id", layout = MainView.class)
 @ViewController("locstr_Product.detail")
 @ViewDescriptor("product-detail-view.xml")
@@ -37,6 +42,20 @@ public class ProductDetailView extends StandardDetailView<Product> {
 
     @Autowired
     private UiComponents uiComponents;
+    @Autowired
+    private LocalizedStringConflictMerger conflictMerger;
+
+    private LocalizedStringSnapshot snapshot;
+
+    @Subscribe
+    public void onReady(final ReadyEvent event) {
+        snapshot = conflictMerger.createSnapshot(getEditedEntity());
+    }
+
+    @Install(target = Target.DATA_CONTEXT)
+    private Set<Object> saveDelegate(final SaveContext saveContext) {
+        return Set.of(conflictMerger.save(getEditedEntity(), snapshot));
+    }
 
     /*@Install(to = "descriptionField.localizedStringEdit", subject = "validator")
     private void descriptionFieldValidator(final ValidationContext validationContext) {
@@ -16,11 +16,23 @@
 
 package com.glebfox.jmix.locstr.demo.view.product;
 
+import com.glebfox.jmix.locstr.component.LocalizedStringRenderers;
 import com.glebfox.jmix.locstr.demo.entity.Product;
 import com.glebfox.jmix.locstr.demo.view.main.MainView;
+import com.glebfox.jmix.locstr.search.LocalizedStringIndex;
+import com.google.common.base.Strings;
+import com.vaadin.flow.component.AbstractField;
+import com.vaadin.flow.data.renderer.Renderer;
 import com.vaadin.flow.router.Route;
+import io.jmix.core.LoadContext;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.flowui.component.grid.DataGrid;
+import io.jmix.flowui.component.textfield.TypedTextField;
+import io.jmix.flowui.model.CollectionLoader;
 import io.jmix.flowui.view.*;
-
+import org.springframework.beans.factory.annotation.Autowired;
 
 @Route(value = "products", layout = MainView.class)
 @ViewController("locstr_Product.list")
@@ -28,4 +40,55 @@ import io.jmix.flowui.view.*;
 @LookupComponent("productsDataGrid")
 @DialogMode(width = "64em")
 public class ProductListView extends StandardListView<Product> {
+
+    @ViewComponent
+    private DataGrid<Product> productsDataGrid;
+    @ViewComponent
+    private TypedTextField<String> searchField;
+    @ViewComponent
+    private CollectionLoader<Product> productsDl;
+
+    @Autowired
+    private LocalizedStringRenderers localizedStringRenderers;
+    @Autowired
+    private LocalizedStringIndex localizedStringIndex;
+    @Autowired
+    private CurrentAuthentication currentAuthentication;
+
+    @Subscribe
+    public void onInit(final InitEvent event) {
+        productsDataGrid.setItemDetailsRenderer(localizedStringRenderers.createDetailsRenderer("description"));
+    }
+
+    @Supply(to = "productsDataGrid.name", subject = "renderer")
+    private Renderer<Product> productsDataGridNameRenderer() {
+        return localizedStringRenderers.createRenderer("name");
+    }
+
+    @Supply(to = "productsDataGrid.description", subject = "renderer")
+    private Renderer<Product> productsDataGridDescriptionRenderer() {
+        return localizedStringRenderers.createRenderer("description", 100);
+    }
+
+    @Subscribe("searchField")
+    public void onSearchFieldComponentValueChange(
+            final AbstractField.ComponentValueChangeEvent<TypedTextField<String>, String> event) {
+        productsDl.load();
+    }
+
+    @Subscribe(id = "productsDl", target = Target.DATA_LOADER)
+    public void onProductsDlPreLoad(final CollectionLoader.PreLoadEvent<Product> event) {
+        String text = searchField.getValue();
+        LoadContext.Query query = event.getLoadContext().getQuery();
+        if (Strings.isNullOrEmpty(text) || query == null) {
+            return;
+        }
+
+        // combined with conditions of the generic filter
+        Condition searchCondition = localizedStringIndex.createCondition(Product.class,
+                currentAuthentication.getLocale(), text);
+        query.setCondition(query.getCondition() != null
+                ? LogicalCondition.and(query.getCondition(), searchCondition)
+                : searchCondition);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.demo.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records latencies of operations of a load test scenario.
+ */
+public class LatencyRecorder {
+
+    protected final String scenario;
+    protected final long[] latencies;
+    protected int count;
+    protected long startTime;
+    protected long endTime;
+
+    public LatencyRecorder(String scenario, int iterations) {
+        this.scenario = scenario;
+        this.latencies = new long[iterations];
+    }
+
+    public void run(Runnable operation) {
+        if (count == 0) {
+            startTime = System.nanoTime();
+        }
+
+        long start = System.nanoTime();
+        operation.run();
+        endTime = System.nanoTime();
+        latencies[count++] = endTime - start;
+    }
+
+    /**
+     * @return scenario results: throughput in operations per second and latency percentiles
+     * in milliseconds
+     */
+    public Map<String, Object> getResults() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("scenario", scenario);
+        results.put("operations", count);
+        results.put("throughput", count / ((endTime - startTime) / 1e9));
+        results.put("p50", percentile(sorted, 0.5));
+        results.put("p95", percentile(sorted, 0.95));
+        results.put("p99", percentile(sorted, 0.99));
+        results.put("max", sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0);
+        return results;
+    }
+
+    protected double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.demo.load;
+
+/**
+ * Load test settings read from {@code locstr.load.*} system properties.
+ *
+ * @param rows               the number of generated products
+ * @param locales            the number of locales in generated values
+ * @param missingShare       a share of locales missing in a value, from 0 to 1
+ * @param nameLength         a mean length of a product name
+ * @param descriptionLength  a mean length of a product description
+ * @param iterations         the number of measured operations per scenario
+ * @param warmupIterations   the number of not measured operations per scenario
+ * @param seed               a seed of random data
+ */
+public record LoadTestSettings(int rows,
+                               int locales,
+                               double missingShare,
+                               int nameLength,
+                               int descriptionLength,
+                               int iterations,
+                               int warmupIterations,
+                               long seed) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("locstr.load.rows", 100_000),
+                Integer.getInteger("locstr.load.locales", 5),
+                Double.parseDouble(System.getProperty("locstr.load.missing-share", "0.2")),
+                Integer.getInteger("locstr.load.name-length", 30),
+                Integer.getInteger("locstr.load.description-length", 400),
+                Integer.getInteger("locstr.load.iterations", 2_000),
+                Integer.getInteger("locstr.load.warmup-iterations", 500),
+                Long.getLong("locstr.load.seed", 42L));
+    }
+}
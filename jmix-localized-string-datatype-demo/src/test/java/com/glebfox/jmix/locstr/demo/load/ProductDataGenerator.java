@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.demo.load;
+
+import com.glebfox.jmix.locstr.completeness.LocaleCompletenessSupport;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+
+/**
+ * Generates {@code LOCSTR_PRODUCT} rows with multilingual values using JDBC batches, so that
+ * millions of rows can be inserted in reasonable time. Values are encoded the same way as
+ * {@link com.glebfox.jmix.locstr.datatype.LocalizedStringConverter} does.
+ */
+public class ProductDataGenerator {
+
+    protected static final int BATCH_SIZE = 1_000;
+
+    protected static final List<Locale> LOCALES = List.of(
+            Locale.ENGLISH, Locale.forLanguageTag("ru-RU"), Locale.GERMAN, Locale.FRENCH,
+            Locale.forLanguageTag("es"), Locale.ITALIAN, Locale.forLanguageTag("pt-BR"),
+            Locale.JAPANESE, Locale.CHINESE, Locale.forLanguageTag("ar"), Locale.KOREAN,
+            Locale.forLanguageTag("el"), Locale.forLanguageTag("he"), Locale.forLanguageTag("hi"));
+
+    protected static final String[] LATIN = {"ka", "lo", "mi", "ne", "tor", "sta", "pre", "vel", "qui", "ber",
+            "ç", "é", "ü", "ñ", "ß"};
+    protected static final String[] CYRILLIC = {"ка", "ло", "ми", "не", "тор", "ста", "пре", "вел", "жи", "щу"};
+    protected static final String[] GREEK = {"κα", "λο", "μι", "νε", "τορ", "στα", "πρε", "βελ"};
+    protected static final String[] HEBREW = {"של", "ום", "מו", "צר", "חד", "שה"};
+    protected static final String[] ARABIC = {"من", "تج", "جد", "يد", "كب", "ير"};
+    protected static final String[] DEVANAGARI = {"उत", "पा", "द", "नया", "बड़ा"};
+    protected static final String[] CJK = {"产", "品", "新", "大", "电", "脑", "手", "机", "製", "品", "한", "국"};
+
+    protected final JdbcTemplate jdbcTemplate;
+    protected final LocaleCompletenessSupport completenessSupport;
+    protected final LoadTestSettings settings;
+    protected final Random random;
+
+    public ProductDataGenerator(JdbcTemplate jdbcTemplate,
+                                LocaleCompletenessSupport completenessSupport,
+                                LoadTestSettings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.completenessSupport = completenessSupport;
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+    }
+
+    /**
+     * @return locales used in generated values
+     */
+    public List<Locale> getLocales() {
+        return LOCALES.subList(0, Math.min(settings.locales(), LOCALES.size()));
+    }
+
+    /**
+     * Inserts products and returns their ids.
+     *
+     * @return ids of inserted products
+     */
+    public List<UUID> generate() {
+        List<UUID> ids = new ArrayList<>(settings.rows());
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < settings.rows(); i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            LocalizedString name = createValue(settings.nameLength(), true);
+            LocalizedString description = createValue(settings.descriptionLength(), false);
+
+            batch.add(new Object[]{id, 1, name.toJson(), description.toJson(),
+                    (int) completenessSupport.getMask(description)});
+            ids.add(id);
+
+            if (batch.size() == BATCH_SIZE) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch);
+        }
+        return ids;
+    }
+
+    protected void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into LOCSTR_PRODUCT " +
+                "(ID, VERSION, NAME, DESCRIPTION, DESCRIPTION_COMPLETENESS) values (?, ?, ?, ?, ?)", batch);
+    }
+
+    /**
+     * Creates a value with the given mean length. Lengths follow a log-normal distribution,
+     * so most values are short and some are much longer.
+     *
+     * @param meanLength a mean length of locale values
+     * @param required   whether the first locale is always present
+     * @return the value
+     */
+    public LocalizedString createValue(int meanLength, boolean required) {
+        Map<Locale, String> values = new HashMap<>();
+        List<Locale> locales = getLocales();
+        for (int i = 0; i < locales.size(); i++) {
+            if ((i > 0 || !required) && random.nextDouble() < settings.missingShare()) {
+                continue;
+            }
+
+            int length = (int) Math.max(1, Math.round(meanLength * Math.exp(random.nextGaussian() * 0.5 - 0.125)));
+            values.put(locales.get(i), createText(locales.get(i), length));
+        }
+        return new LocalizedString(values);
+    }
+
+    protected String createText(Locale locale, int length) {
+        String[] syllables = getSyllables(locale);
+        StringBuilder text = new StringBuilder(length + 8);
+        while (text.length() < length) {
+            int wordLength = 1 + random.nextInt(4);
+            for (int i = 0; i < wordLength; i++) {
+                text.append(syllables[random.nextInt(syllables.length)]);
+            }
+            text.append(' ');
+        }
+        return text.substring(0, length).trim();
+    }
+
+    protected String[] getSyllables(Locale locale) {
+        return switch (locale.getLanguage()) {
+            case "ru" -> CYRILLIC;
+            case "el" -> GREEK;
+            case "he" -> HEBREW;
+            case "ar" -> ARABIC;
+            case "hi" -> DEVANAGARI;
+            case "ja", "zh", "ko" -> CJK;
+            default -> LATIN;
+        };
+    }
+}
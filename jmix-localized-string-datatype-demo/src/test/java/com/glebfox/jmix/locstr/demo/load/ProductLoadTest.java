@@ -0,0 +1,182 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.demo.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glebfox.jmix.locstr.completeness.LocaleCompletenessSupport;
+import com.glebfox.jmix.locstr.demo.entity.Product;
+import com.glebfox.jmix.locstr.demo.test_support.AuthenticatedAsAdmin;
+import io.jmix.core.DataManager;
+import io.jmix.core.Sort;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures throughput and latency of typical operations with products through DataManager,
+ * EclipseLink and {@link com.glebfox.jmix.locstr.datatype.LocalizedStringConverter} on a generated
+ * multilingual dataset. The dataset is stored in cached tables of a file HSQLDB under
+ * {@code build/load-test}, so that it does not have to fit in the heap. Excluded from the {@code test} task,
+ * run with:
+ * <pre>
+ * ./gradlew :jmix-localized-string-datatype-demo:loadTest -Plocstr.load.rows=1000000
+ * </pre>
+ * See {@link LoadTestSettings} for other settings. Results are logged and saved to
+ * {@code build/reports/load/results.json}.
+ */
+@Tag("load")
+@SpringBootTest(properties = "main.datasource.url = " +
+        "jdbc:hsqldb:file:build/load-test/hsqldb/locstr-load;hsqldb.default_table_type=cached;hsqldb.log_data=false")
+@ExtendWith(AuthenticatedAsAdmin.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ProductLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductLoadTest.class);
+
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    DataManager dataManager;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    LocaleCompletenessSupport completenessSupport;
+
+    LoadTestSettings settings;
+    ProductDataGenerator generator;
+    List<UUID> ids;
+    Random random;
+    List<Map<String, Object>> results = new ArrayList<>();
+
+    @BeforeAll
+    void generateData() {
+        settings = LoadTestSettings.fromSystemProperties();
+        generator = new ProductDataGenerator(new JdbcTemplate(dataSource), completenessSupport, settings);
+        random = new Random(settings.seed());
+
+        long start = System.nanoTime();
+        ids = generator.generate();
+        log.info("Generated {} products with {} locales in {} ms", ids.size(), generator.getLocales().size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Test
+    @Order(1)
+    void loadById() {
+        measure("loadById", () -> {
+            Product product = dataManager.load(Product.class)
+                    .id(randomId())
+                    .one();
+            assertThat(product.getName()).isNotNull();
+        });
+    }
+
+    @Test
+    @Order(2)
+    void loadPage() {
+        int pages = Math.max(1, ids.size() / PAGE_SIZE);
+        measure("loadPage", () -> {
+            List<Product> products = dataManager.load(Product.class)
+                    .all()
+                    .sort(Sort.by("id"))
+                    .firstResult(random.nextInt(pages) * PAGE_SIZE)
+                    .maxResults(PAGE_SIZE)
+                    .list();
+            assertThat(products).isNotEmpty();
+        });
+    }
+
+    @Test
+    @Order(3)
+    void filterMissingLocale() {
+        List<Locale> locales = completenessSupport.getLocales();
+        measure("filterMissingLocale", () -> dataManager.load(Product.class)
+                .condition(completenessSupport.missing("descriptionCompleteness",
+                        locales.get(random.nextInt(locales.size()))))
+                .maxResults(PAGE_SIZE)
+                .list());
+    }
+
+    @Test
+    @Order(4)
+    void save() {
+        measure("save", () -> {
+            Product product = dataManager.load(Product.class)
+                    .id(randomId())
+                    .one();
+            product.setDescription(generator.createValue(settings.descriptionLength(), false));
+            dataManager.save(product);
+        });
+    }
+
+    @Test
+    @Order(5)
+    void create() {
+        measure("create", () -> {
+            Product product = dataManager.create(Product.class);
+            product.setName(generator.createValue(settings.nameLength(), true));
+            product.setDescription(generator.createValue(settings.descriptionLength(), false));
+            dataManager.save(product);
+        });
+    }
+
+    @AfterAll
+    void saveResults() throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("results", results);
+
+        File file = new File("build/reports/load/results.json");
+        //noinspection ResultOfMethodCallIgnored
+        file.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+        log.info("Load test results saved to {}", file.getAbsolutePath());
+    }
+
+    private void measure(String scenario, Runnable operation) {
+        for (int i = 0; i < settings.warmupIterations(); i++) {
+            operation.run();
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder(scenario, settings.iterations());
+        for (int i = 0; i < settings.iterations(); i++) {
+            recorder.run(operation);
+        }
+
+        Map<String, Object> scenarioResults = recorder.getResults();
+        results.add(scenarioResults);
+        log.info("{}", scenarioResults);
+    }
+
+    private UUID randomId() {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
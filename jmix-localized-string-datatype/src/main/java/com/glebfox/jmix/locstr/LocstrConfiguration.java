@@ -16,11 +16,21 @@
 
 package com.glebfox.jmix.locstr;
 
+import com.glebfox.jmix.locstr.component.LocalizedStringEntityComboBox;
+import com.glebfox.jmix.locstr.datatype.LocalizedStringConverter;
+import com.glebfox.jmix.locstr.datatype.LocalizedStringInterner;
 import io.jmix.core.annotation.JmixModule;
 import io.jmix.core.impl.scanning.AnnotationScanMetadataReaderFactory;
 import io.jmix.eclipselink.EclipselinkConfiguration;
 import io.jmix.flowui.FlowuiConfiguration;
+import io.jmix.flowui.component.combobox.EntityComboBox;
 import io.jmix.flowui.sys.ActionsConfiguration;
+import io.jmix.flowui.sys.ViewControllersConfiguration;
+import io.jmix.flowui.sys.registration.ComponentRegistration;
+import io.jmix.flowui.sys.registration.ComponentRegistrationBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -35,7 +45,21 @@ import java.util.Collections;
 @ConfigurationPropertiesScan
 @JmixModule(dependsOn = {EclipselinkConfiguration.class, FlowuiConfiguration.class})
 @PropertySource(name = "com.glebfox.jmix.locstr", value = "classpath:/com/glebfox/jmix/locstr/module.properties")
-public class LocstrConfiguration {
+public class LocstrConfiguration implements DisposableBean {
+
+    protected LocalizedStringInterner localizedStringInterner;
+
+    @Autowired
+    public void setLocalizedStringInterner(LocalizedStringInterner interner) {
+        // the persistence provider creates converters itself, so the interner is shared by the JVM
+        localizedStringInterner = interner;
+        LocalizedStringConverter.setDefaultInterner(interner.isEnabled() ? interner : null);
+    }
+
+    @Override
+    public void destroy() {
+        LocalizedStringConverter.resetDefaultInterner(localizedStringInterner);
+    }
 
     @Bean("locstr_LocstrActions")
     public ActionsConfiguration actions(final ApplicationContext applicationContext,
@@ -45,4 +69,21 @@ public class LocstrConfiguration {
         actions.setBasePackages(Collections.singletonList("com.glebfox.jmix.locstr.action"));
         return actions;
     }
+
+    @Bean("locstr_LocstrViewControllers")
+    public ViewControllersConfiguration views(final ApplicationContext applicationContext,
+                                              final AnnotationScanMetadataReaderFactory metadataReaderFactory) {
+        final ViewControllersConfiguration views
+                = new ViewControllersConfiguration(applicationContext, metadataReaderFactory);
+        views.setBasePackages(Collections.singletonList("com.glebfox.jmix.locstr.view"));
+        return views;
+    }
+
+    @Bean("locstr_EntityComboBoxRegistration")
+    @ConditionalOnProperty(name = "locstr.entity-combo-box-replacement-enabled", havingValue = "true")
+    public ComponentRegistration entityComboBox() {
+        return ComponentRegistrationBuilder.create(LocalizedStringEntityComboBox.class)
+                .replaceComponent(EntityComboBox.class)
+                .build();
+    }
 }
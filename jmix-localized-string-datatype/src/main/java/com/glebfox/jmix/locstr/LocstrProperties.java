@@ -0,0 +1,260 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "locstr")
+public class LocstrProperties {
+
+    /**
+     * Maximum number of asynchronous validations executed concurrently.
+     */
+    int asyncValidationThreads;
+
+    /**
+     * Maximum number of asynchronous validations waiting for execution.
+     */
+    int asyncValidationQueueCapacity;
+
+    /**
+     * Delay after the last value change before an asynchronous validation is started.
+     */
+    Duration asyncValidationDebounce;
+
+    /**
+     * Maximum time an asynchronous validation may take after the debounce delay, including the time
+     * it waits for execution. A value whose validation is timed out is considered invalid.
+     */
+    Duration asyncValidationTimeout;
+
+    /**
+     * Maximum number of attempts to save an entity when its localized values are merged
+     * on an optimistic lock conflict.
+     */
+    int conflictMergeAttempts;
+
+    /**
+     * Time after which calculated translation coverage is discarded and recalculated.
+     */
+    Duration coverageCacheTtl;
+
+    /**
+     * Whether short values of decoded localized strings are interned, so that equal texts
+     * share one instance.
+     */
+    boolean valueInterningEnabled;
+
+    /**
+     * Maximum length of interned values.
+     */
+    int valueInterningMaxLength;
+
+    /**
+     * Number of slots of the interning table, rounded up to a power of two.
+     */
+    int valueInterningTableSize;
+
+    /**
+     * Whether {@code EntityComboBox} components are replaced by
+     * {@link com.glebfox.jmix.locstr.component.LocalizedStringEntityComboBox}.
+     */
+    boolean entityComboBoxReplacementEnabled;
+
+    /**
+     * Number of rows read and updated in one transaction by {@link com.glebfox.jmix.locstr.backfill.LocaleBackfill}.
+     */
+    int localeBackfillChunkSize;
+
+    /**
+     * Maximum number of rows processed per second by {@link com.glebfox.jmix.locstr.backfill.LocaleBackfill},
+     * 0 means no limit.
+     */
+    int localeBackfillRowsPerSecond;
+
+    /**
+     * Directory of the {@link com.glebfox.jmix.locstr.search.LocalizedStringIndex} files. By default,
+     * {@code locstr/search-index} in the {@code jmix.core.work-dir} directory.
+     */
+    String searchIndexDirectory;
+
+    /**
+     * Interval of applying committed changes to {@link com.glebfox.jmix.locstr.search.LocalizedStringIndex}.
+     */
+    Duration searchIndexFlushInterval;
+
+    /**
+     * Number of entities loaded at once to update {@link com.glebfox.jmix.locstr.search.LocalizedStringIndex}.
+     */
+    int searchIndexBatchSize;
+
+    /**
+     * Maximum number of entities selected by full-text search conditions.
+     */
+    int searchMaxResults;
+
+    public LocstrProperties(@DefaultValue("4") int asyncValidationThreads,
+                            @DefaultValue("1000") int asyncValidationQueueCapacity,
+                            @DefaultValue("300ms") Duration asyncValidationDebounce,
+                            @DefaultValue("10s") Duration asyncValidationTimeout,
+                            @DefaultValue("3") int conflictMergeAttempts,
+                            @DefaultValue("1h") Duration coverageCacheTtl,
+                            @DefaultValue("false") boolean valueInterningEnabled,
+                            @DefaultValue("64") int valueInterningMaxLength,
+                            @DefaultValue("65536") int valueInterningTableSize,
+                            @DefaultValue("false") boolean entityComboBoxReplacementEnabled,
+                            @DefaultValue("1000") int localeBackfillChunkSize,
+                            @DefaultValue("2000") int localeBackfillRowsPerSecond,
+                            @Nullable String searchIndexDirectory,
+                            @DefaultValue("1s") Duration searchIndexFlushInterval,
+                            @DefaultValue("500") int searchIndexBatchSize,
+                            @DefaultValue("1000") int searchMaxResults) {
+        this.asyncValidationThreads = asyncValidationThreads;
+        this.asyncValidationQueueCapacity = asyncValidationQueueCapacity;
+        this.asyncValidationDebounce = asyncValidationDebounce;
+        this.asyncValidationTimeout = asyncValidationTimeout;
+        this.conflictMergeAttempts = conflictMergeAttempts;
+        this.coverageCacheTtl = coverageCacheTtl;
+        this.valueInterningEnabled = valueInterningEnabled;
+        this.valueInterningMaxLength = valueInterningMaxLength;
+        this.valueInterningTableSize = valueInterningTableSize;
+        this.entityComboBoxReplacementEnabled = entityComboBoxReplacementEnabled;
+        this.localeBackfillChunkSize = localeBackfillChunkSize;
+        this.localeBackfillRowsPerSecond = localeBackfillRowsPerSecond;
+        this.searchIndexDirectory = searchIndexDirectory;
+        this.searchIndexFlushInterval = searchIndexFlushInterval;
+        this.searchIndexBatchSize = searchIndexBatchSize;
+        this.searchMaxResults = searchMaxResults;
+    }
+
+    /**
+     * @see #asyncValidationThreads
+     */
+    public int getAsyncValidationThreads() {
+        return asyncValidationThreads;
+    }
+
+    /**
+     * @see #asyncValidationQueueCapacity
+     */
+    public int getAsyncValidationQueueCapacity() {
+        return asyncValidationQueueCapacity;
+    }
+
+    /**
+     * @see #asyncValidationDebounce
+     */
+    public Duration getAsyncValidationDebounce() {
+        return asyncValidationDebounce;
+    }
+
+    /**
+     * @see #asyncValidationTimeout
+     */
+    public Duration getAsyncValidationTimeout() {
+        return asyncValidationTimeout;
+    }
+
+    /**
+     * @see #conflictMergeAttempts
+     */
+    public int getConflictMergeAttempts() {
+        return conflictMergeAttempts;
+    }
+
+    /**
+     * @see #coverageCacheTtl
+     */
+    public Duration getCoverageCacheTtl() {
+        return coverageCacheTtl;
+    }
+
+    /**
+     * @see #valueInterningEnabled
+     */
+    public boolean isValueInterningEnabled() {
+        return valueInterningEnabled;
+    }
+
+    /**
+     * @see #valueInterningMaxLength
+     */
+    public int getValueInterningMaxLength() {
+        return valueInterningMaxLength;
+    }
+
+    /**
+     * @see #valueInterningTableSize
+     */
+    public int getValueInterningTableSize() {
+        return valueInterningTableSize;
+    }
+
+    /**
+     * @see #entityComboBoxReplacementEnabled
+     */
+    public boolean isEntityComboBoxReplacementEnabled() {
+        return entityComboBoxReplacementEnabled;
+    }
+
+    /**
+     * @see #localeBackfillChunkSize
+     */
+    public int getLocaleBackfillChunkSize() {
+        return localeBackfillChunkSize;
+    }
+
+    /**
+     * @see #localeBackfillRowsPerSecond
+     */
+    public int getLocaleBackfillRowsPerSecond() {
+        return localeBackfillRowsPerSecond;
+    }
+
+    /**
+     * @see #searchIndexDirectory
+     */
+    @Nullable
+    public String getSearchIndexDirectory() {
+        return searchIndexDirectory;
+    }
+
+    /**
+     * @see #searchIndexFlushInterval
+     */
+    public Duration getSearchIndexFlushInterval() {
+        return searchIndexFlushInterval;
+    }
+
+    /**
+     * @see #searchIndexBatchSize
+     */
+    public int getSearchIndexBatchSize() {
+        return searchIndexBatchSize;
+    }
+
+    /**
+     * @see #searchMaxResults
+     */
+    public int getSearchMaxResults() {
+        return searchMaxResults;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.action;
+
+/**
+ * Defines how {@link LocalizedStringEditAction} lays out localized value fields
+ * in the edit dialog.
+ */
+public enum EditorLayoutMode {
+
+    /**
+     * A field for each available locale is shown in a single vertical list.
+     */
+    LIST,
+
+    /**
+     * A tab for each available locale is shown together with a locale search field.
+     * Only the field of the selected locale is displayed, fields of other locales
+     * are created on demand when their tabs are selected.
+     */
+    TABS
+}
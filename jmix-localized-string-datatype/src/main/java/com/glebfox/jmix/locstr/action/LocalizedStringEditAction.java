@@ -17,6 +17,12 @@
 package com.glebfox.jmix.locstr.action;
 
 import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.locale.LocaleCatalog;
+import com.glebfox.jmix.locstr.validation.AsyncValidationExecutor;
+import com.glebfox.jmix.locstr.validation.AsyncValidator;
+import com.glebfox.jmix.locstr.validation.LocalizedStringValidator;
+import com.glebfox.jmix.locstr.validation.LocalizedStringViolation;
+import com.glebfox.jmix.locstr.validation.ValidationContext;
 import com.glebfox.jmix.locstr.validation.Validator;
 import com.glebfox.jmix.locstr.validation.ValidatorAdapter;
 import com.google.common.base.Preconditions;
@@ -27,20 +33,24 @@ import com.vaadin.flow.component.*;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.dialog.Dialog;
+import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.tabs.Tab;
+import com.vaadin.flow.component.tabs.Tabs;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.dom.PropertyChangeEvent;
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.shared.Registration;
-import io.jmix.core.CoreProperties;
 import io.jmix.core.MessageTools;
 import io.jmix.core.Messages;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.flowui.Dialogs;
+import io.jmix.flowui.Notifications;
 import io.jmix.flowui.UiComponents;
 import io.jmix.flowui.action.ActionType;
 import io.jmix.flowui.action.DialogAction;
@@ -51,18 +61,22 @@ import io.jmix.flowui.component.SupportsValidation;
 import io.jmix.flowui.component.UiComponentUtils;
 import io.jmix.flowui.data.EntityValueSource;
 import io.jmix.flowui.data.ValueSource;
+import io.jmix.flowui.exception.ValidationException;
 import io.jmix.flowui.kit.action.ActionVariant;
 import io.jmix.flowui.kit.component.ComponentUtils;
 import jakarta.persistence.Lob;
 import jakarta.validation.constraints.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.lang.Nullable;
 
 import java.lang.annotation.Annotation;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Opens a dialog that edits a localized string value represented by the {@link LocalizedString} datatype.
@@ -73,8 +87,12 @@ public class LocalizedStringEditAction
 
     public static final String ID = "value_localizedStringEdit";
 
+    private static final Logger log = LoggerFactory.getLogger(LocalizedStringEditAction.class);
+
     protected ApplicationContext applicationContext;
+    protected AsyncValidationExecutor asyncValidationExecutor;
     protected Dialogs dialogs;
+    protected Notifications notifications;
     protected Messages messages;
     protected UiComponents uiComponents;
     protected MessageTools messageTools;
@@ -82,16 +100,52 @@ public class LocalizedStringEditAction
     protected Dialog dialog;
     protected Button saveButton;
     protected Button cancelButton;
-
-    protected LinkedHashMap<Locale, String> availableLocales;
+    protected Registration targetDetachRegistration;
+
+    protected Component content;
+    protected EditorLayoutMode contentLayoutMode;
+    protected Tabs localeTabs;
+    protected Map<Locale, Tab> localeTabMap;
+    protected Div fieldContainer;
+
+    protected String title;
+    protected String width = "var(--localized-string-editor-width, 30em)";
+    protected String minWidth;
+    protected String maxWidth;
+    protected String height;
+    protected String minHeight;
+    protected String maxHeight;
+    protected String className = "localized-string-editor";
+
+    protected String saveText;
+    protected Component saveIcon;
+    protected boolean saveIconSet;
+    protected String saveButtonTheme = ButtonVariant.LUMO_PRIMARY.getVariantName();
+    protected String cancelText;
+    protected Component cancelIcon;
+    protected boolean cancelIconSet;
+    protected String cancelButtonTheme;
+
+    protected Map<Locale, String> availableLocales;
     protected Cache<Locale, HasValueAndElement<?, String>> fieldCache;
+    protected Set<Locale> syncedLocales = new HashSet<>();
+    protected Set<Locale> invalidLocales = new LinkedHashSet<>();
     protected List<Validator> validators;
+    protected List<AsyncValidator> asyncValidators;
+    protected List<LocalizedStringValidator> localizedStringValidators;
+    protected Map<Locale, CompletableFuture<String>> pendingValidations = new HashMap<>();
+    protected Map<Locale, AsyncValidationError> asyncValidationErrors = new HashMap<>();
+    protected Map<Locale, String> valueViolations = new LinkedHashMap<>();
+    protected Set<Locale> valueViolationFields = new HashSet<>();
+    protected boolean updatingValueViolations;
 
     protected Boolean multiline;
     protected String multilineFieldHeight = "var(--localized-string-editor-multiline-field-height, 6.5em)";
     protected String multilineFieldMinHeight;
     protected String multilineFieldMaxHeight;
 
+    protected EditorLayoutMode layoutMode = EditorLayoutMode.LIST;
+
     protected boolean hasUnsavedChanges;
     protected boolean checkForUnsavedChanges = true;
 
@@ -109,18 +163,13 @@ public class LocalizedStringEditAction
 
     protected void initAction() {
         this.icon = ComponentUtils.convertToIcon(VaadinIcon.GLOBE);
-        initDialog();
     }
 
     @Autowired
     public void setApplicationContext(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
 
-        CoreProperties coreProperties = applicationContext.getBean(CoreProperties.class);
-        MessageTools messageTools = applicationContext.getBean(MessageTools.class);
-        availableLocales = coreProperties.getAvailableLocales().stream()
-                .collect(Collectors.toMap(Function.identity(), messageTools::getLocaleDisplayName,
-                        (s1, s2) -> s1, LinkedHashMap::new));
+        availableLocales = applicationContext.getBean(LocaleCatalog.class).getDisplayNames();
     }
 
     @Autowired
@@ -128,11 +177,16 @@ public class LocalizedStringEditAction
         this.messages = messages;
         this.text = messages.getMessage("actions.localizedStringEdit.description");
 
-        String title = messages.getMessage("actions.localizedStringEdit.editor.title");
-        dialog.setHeaderTitle(title);
-        dialog.getElement().setAttribute("aria-label", title);
-        saveButton.setText(messages.getMessage("actions.Save"));
-        cancelButton.setText(messages.getMessage("actions.Cancel"));
+        this.title = messages.getMessage("actions.localizedStringEdit.editor.title");
+        this.saveText = messages.getMessage("actions.Save");
+        this.cancelText = messages.getMessage("actions.Cancel");
+
+        if (dialog != null) {
+            dialog.setHeaderTitle(title);
+            dialog.getElement().setAttribute("aria-label", title);
+            saveButton.setText(saveText);
+            cancelButton.setText(cancelText);
+        }
     }
 
     @Autowired
@@ -150,11 +204,31 @@ public class LocalizedStringEditAction
         this.dialogs = dialogs;
     }
 
+    @Autowired
+    public void setNotifications(Notifications notifications) {
+        this.notifications = notifications;
+    }
+
+    @Autowired
+    public void setAsyncValidationExecutor(AsyncValidationExecutor asyncValidationExecutor) {
+        this.asyncValidationExecutor = asyncValidationExecutor;
+    }
+
     @Override
     public void setTarget(@Nullable PickerComponent<LocalizedString> target) {
         Preconditions.checkArgument(target == null || target instanceof HasValue<?, ?>,
                 "Target must implement " + HasValue.class.getName());
+
+        if (targetDetachRegistration != null) {
+            targetDetachRegistration.remove();
+            targetDetachRegistration = null;
+        }
+
         super.setTarget(target);
+
+        if (target instanceof Component component) {
+            targetDetachRegistration = component.addDetachListener(this::onTargetDetach);
+        }
     }
 
     /**
@@ -201,6 +275,43 @@ public class LocalizedStringEditAction
         return this;
     }
 
+    /**
+     * Returns how localized value fields are laid out in the edit dialog.
+     *
+     * @return how localized value fields are laid out in the edit dialog
+     */
+    public EditorLayoutMode getLayoutMode() {
+        return layoutMode;
+    }
+
+    /**
+     * Sets how localized value fields are laid out in the edit dialog.
+     * {@link EditorLayoutMode#LIST} by default.
+     * <p>
+     * {@link EditorLayoutMode#TABS} is recommended if there are a lot of
+     * available locales, because only the field of the selected locale is
+     * created and sent to the client.
+     *
+     * @param layoutMode the layout mode to set
+     */
+    public void setLayoutMode(EditorLayoutMode layoutMode) {
+        Preconditions.checkNotNull(layoutMode, "Layout mode cannot be null");
+        this.layoutMode = layoutMode;
+    }
+
+    /**
+     * Sets how localized value fields are laid out in the edit dialog.
+     * {@link EditorLayoutMode#LIST} by default.
+     *
+     * @param layoutMode the layout mode to set
+     * @return this object
+     * @see #setLayoutMode(EditorLayoutMode)
+     */
+    public LocalizedStringEditAction withLayoutMode(EditorLayoutMode layoutMode) {
+        setLayoutMode(layoutMode);
+        return this;
+    }
+
     /**
      * Returns whether this action should prevent the closing of the edit
      * dialog if there are unsaved changes.
@@ -252,7 +363,10 @@ public class LocalizedStringEditAction
      * @param width the width to set, may be {@code null}
      */
     public void setWidth(String width) {
-        dialog.setWidth(width);
+        this.width = width;
+        if (dialog != null) {
+            dialog.setWidth(width);
+        }
     }
 
     /**
@@ -286,7 +400,10 @@ public class LocalizedStringEditAction
      * @param minWidth the min-width value, may be {@code null}
      */
     public void setMinWidth(String minWidth) {
-        dialog.setMinWidth(minWidth);
+        this.minWidth = minWidth;
+        if (dialog != null) {
+            dialog.setMinWidth(minWidth);
+        }
     }
 
     /**
@@ -318,7 +435,10 @@ public class LocalizedStringEditAction
      * @param maxWidth the max-width value, may be {@code null}
      */
     public void setMaxWidth(String maxWidth) {
-        dialog.setMaxWidth(maxWidth);
+        this.maxWidth = maxWidth;
+        if (dialog != null) {
+            dialog.setMaxWidth(maxWidth);
+        }
     }
 
     /**
@@ -350,7 +470,10 @@ public class LocalizedStringEditAction
      * @param height the height to set, may be {@code null}
      */
     public void setHeight(String height) {
-        dialog.setHeight(height);
+        this.height = height;
+        if (dialog != null) {
+            dialog.setHeight(height);
+        }
     }
 
     /**
@@ -382,7 +505,10 @@ public class LocalizedStringEditAction
      * @param minHeight the min-height value, may be {@code null}
      */
     public void setMinHeight(@Nullable String minHeight) {
-        dialog.setMinHeight(minHeight);
+        this.minHeight = minHeight;
+        if (dialog != null) {
+            dialog.setMinHeight(minHeight);
+        }
     }
 
     /**
@@ -414,7 +540,10 @@ public class LocalizedStringEditAction
      * @param maxHeight the max-height value, may be {@code null}
      */
     public void setMaxHeight(@Nullable String maxHeight) {
-        dialog.setMaxHeight(maxHeight);
+        this.maxHeight = maxHeight;
+        if (dialog != null) {
+            dialog.setMaxHeight(maxHeight);
+        }
     }
 
     /**
@@ -548,7 +677,10 @@ public class LocalizedStringEditAction
      *                  {@code null} to remove all class names
      */
     public void setClassName(@Nullable String className) {
-        dialog.setClassName(className);
+        this.className = className;
+        if (dialog != null) {
+            dialog.setClassName(className);
+        }
     }
 
     /**
@@ -560,7 +692,7 @@ public class LocalizedStringEditAction
      * @return this object
      */
     public LocalizedStringEditAction withClassName(@Nullable String className) {
-        dialog.setClassName(className);
+        setClassName(className);
         return this;
     }
 
@@ -570,7 +702,10 @@ public class LocalizedStringEditAction
      * @param text text to set or {@code null} to remove existing text
      */
     public void setSaveText(@Nullable String text) {
-        saveButton.setText(text);
+        this.saveText = text;
+        if (saveButton != null) {
+            saveButton.setText(text);
+        }
     }
 
     /**
@@ -591,7 +726,11 @@ public class LocalizedStringEditAction
      *             only remove the current icon, can't be a text-node
      */
     public void setSaveIcon(@Nullable Component icon) {
-        this.saveButton.setIcon(icon);
+        this.saveIcon = icon;
+        this.saveIconSet = true;
+        if (saveButton != null) {
+            saveButton.setIcon(icon);
+        }
     }
 
     /**
@@ -614,7 +753,10 @@ public class LocalizedStringEditAction
      *                  or {@code null} to remove all theme names
      */
     public void setSaveButtonTheme(@Nullable String themeName) {
-        saveButton.setThemeName(themeName);
+        this.saveButtonTheme = themeName;
+        if (saveButton != null) {
+            saveButton.setThemeName(themeName);
+        }
     }
 
     /**
@@ -626,7 +768,7 @@ public class LocalizedStringEditAction
      * @return this object
      */
     public LocalizedStringEditAction withSaveButtonTheme(@Nullable String themeName) {
-        saveButton.setThemeName(themeName);
+        setSaveButtonTheme(themeName);
         return this;
     }
 
@@ -636,7 +778,10 @@ public class LocalizedStringEditAction
      * @param text text to set or {@code null} to remove existing text
      */
     public void setCancelText(@Nullable String text) {
-        cancelButton.setText(text);
+        this.cancelText = text;
+        if (cancelButton != null) {
+            cancelButton.setText(text);
+        }
     }
 
     /**
@@ -657,7 +802,11 @@ public class LocalizedStringEditAction
      *             only remove the current icon, can't be a text-node
      */
     public void setCancelIcon(@Nullable Component icon) {
-        cancelButton.setIcon(icon);
+        this.cancelIcon = icon;
+        this.cancelIconSet = true;
+        if (cancelButton != null) {
+            cancelButton.setIcon(icon);
+        }
     }
 
     /**
@@ -680,7 +829,10 @@ public class LocalizedStringEditAction
      *                  or {@code null} to remove all theme names
      */
     public void setCancelButtonTheme(@Nullable String themeName) {
-        cancelButton.setThemeName(themeName);
+        this.cancelButtonTheme = themeName;
+        if (cancelButton != null) {
+            cancelButton.setThemeName(themeName);
+        }
     }
 
     /**
@@ -692,7 +844,7 @@ public class LocalizedStringEditAction
      * @return this object
      */
     public LocalizedStringEditAction withCancelButtonTheme(@Nullable String themeName) {
-        cancelButton.setThemeName(themeName);
+        setCancelButtonTheme(themeName);
         return this;
     }
 
@@ -740,6 +892,101 @@ public class LocalizedStringEditAction
         return this;
     }
 
+    /**
+     * Adds a validator that checks the value of every field in the edit dialog
+     * asynchronously. Suitable for slow checks, e.g. database queries.
+     * <p>
+     * Should throw {@link io.jmix.flowui.exception.ValidationException} if the value is incorrect.
+     * <p>
+     * Validation is started after a field value is changed by the user and the debounce
+     * delay is passed. A validation is cancelled if a newer value is entered before it
+     * is completed. Saving is blocked until all validations are completed. A validation
+     * that is not completed within the {@code locstr.async-validation-timeout} period makes
+     * the value invalid.
+     * <p>
+     * Example:
+     * <pre>{@code
+     * @Install(to = "locNameField.localizedStringEdit", subject = "asyncValidator")
+     * private void fieldAsyncValidator(final ValidationContext validationContext) {
+     *     if (isNameUsed(validationContext.locale(), validationContext.value())) {
+     *         throw new ValidationException("Name is already used");
+     *     }
+     * }
+     * }</pre>
+     *
+     * @param validator a validator to add
+     * @return handler to remove the validator
+     * @apiNote validators are executed in a background thread, so they must not
+     * access UI components. Validators added after the first time the edit dialog
+     * is opened aren't applied, as fields are cached
+     * @see AsyncValidationExecutor
+     */
+    public Registration addAsyncValidator(AsyncValidator validator) {
+        if (asyncValidators == null) {
+            asyncValidators = new ArrayList<>();
+        }
+        asyncValidators.add(validator);
+        return () -> asyncValidators.remove(validator);
+    }
+
+    /**
+     * Adds validators that check the value of every field in the edit dialog asynchronously.
+     *
+     * @param validators validators to add
+     * @return this object
+     * @see #addAsyncValidator(AsyncValidator)
+     */
+    public LocalizedStringEditAction withAsyncValidators(AsyncValidator... validators) {
+        for (AsyncValidator validator : validators) {
+            addAsyncValidator(validator);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a validator that checks the complete localized value when it is saved,
+     * i.e. values of all locales at once.
+     * <p>
+     * Violations related to a locale are shown by the field of this locale, other
+     * violations are shown as a notification. The value isn't saved if there are violations.
+     * <p>
+     * Example:
+     * <pre>{@code
+     * @Install(to = "locNameField.localizedStringEdit", subject = "localizedStringValidator")
+     * private List<LocalizedStringViolation> nameValidator(final LocalizedString value) {
+     *     return productService.findNameDuplicates(value).stream()
+     *             .map(locale -> new LocalizedStringViolation(locale, "Name is already used"))
+     *             .toList();
+     * }
+     * }</pre>
+     *
+     * @param validator a validator to add
+     * @return handler to remove the validator
+     */
+    public Registration addLocalizedStringValidator(LocalizedStringValidator validator) {
+        if (localizedStringValidators == null) {
+            localizedStringValidators = new ArrayList<>();
+        }
+        localizedStringValidators.add(validator);
+        return () -> localizedStringValidators.remove(validator);
+    }
+
+    /**
+     * Adds validators that check the complete localized value when it is saved.
+     *
+     * @param validators validators to add
+     * @return this object
+     * @see #addLocalizedStringValidator(LocalizedStringValidator)
+     */
+    public LocalizedStringEditAction withLocalizedStringValidators(LocalizedStringValidator... validators) {
+        for (LocalizedStringValidator validator : validators) {
+            addLocalizedStringValidator(validator);
+        }
+
+        return this;
+    }
+
     /**
      * Sets the field provider that will return a component for the given
      * {@link FieldGenerationContext}.
@@ -786,10 +1033,40 @@ public class LocalizedStringEditAction
     public void execute() {
         checkTarget();
 
-        // Fields are not recreated because they are cached, but
-        // they are correctly initialized with new values
-        dialog.removeAll();
-        dialog.add(createContent());
+        LocalizedStringEditorOpenEvent event = new LocalizedStringEditorOpenEvent();
+        event.begin();
+
+        // The dialog is created on the first execution and
+        // released when the target component is detached
+        Dialog dialog = getDialog();
+
+        // The content is kept attached between openings and only field
+        // values that differ from the target value are updated
+        cancelAsyncValidations();
+        clearValueViolations();
+        syncedLocales.clear();
+        if (content == null || contentLayoutMode != layoutMode) {
+            dialog.removeAll();
+            content = createContent();
+            contentLayoutMode = layoutMode;
+            dialog.add(content);
+        } else {
+            updateContent();
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            MetaPropertyPath metaPropertyPath = findMetaPropertyPath();
+            if (metaPropertyPath != null) {
+                event.entity = metaPropertyPath.getMetaClass().getName();
+                event.attribute = metaPropertyPath.toPathString();
+            }
+            // The field cache also keeps fields of tabs that aren't selected
+            event.fieldCount = contentLayoutMode == EditorLayoutMode.TABS
+                    ? fieldContainer.getComponentCount()
+                    : availableLocales.size();
+            event.commit();
+        }
 
         // Clear flag after content is created because fields are
         // initialized with a default value
@@ -798,10 +1075,27 @@ public class LocalizedStringEditAction
         dialog.open();
     }
 
+    protected Dialog getDialog() {
+        if (dialog == null) {
+            initDialog();
+        }
+
+        return dialog;
+    }
+
     protected void initDialog() {
         dialog = new Dialog();
-        dialog.setWidth("var(--localized-string-editor-width, 30em)");
-        dialog.setClassName("localized-string-editor");
+        dialog.setWidth(width);
+        dialog.setMinWidth(minWidth);
+        dialog.setMaxWidth(maxWidth);
+        dialog.setHeight(height);
+        dialog.setMinHeight(minHeight);
+        dialog.setMaxHeight(maxHeight);
+        dialog.setClassName(className);
+        if (title != null) {
+            dialog.setHeaderTitle(title);
+            dialog.getElement().setAttribute("aria-label", title);
+        }
         dialog.setCloseOnOutsideClick(false);
         // Add 'ESCAPE' shortcut to the Close button in order to reset focus on
         // the active element before triggering the shortcut event handler.
@@ -816,10 +1110,10 @@ public class LocalizedStringEditAction
     }
 
     protected Button createSaveButton() {
-        Button saveButton = new Button();
-        saveButton.setIcon(ComponentUtils.convertToIcon(VaadinIcon.CHECK));
+        Button saveButton = new Button(saveText);
+        saveButton.setIcon(saveIconSet ? saveIcon : ComponentUtils.convertToIcon(VaadinIcon.CHECK));
         saveButton.addClickListener(this::doSave);
-        saveButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+        saveButton.setThemeName(saveButtonTheme);
         saveButton.addClassName("localized-string-editor-save");
         addButtonClickShortcut(saveButton, Key.ENTER, KeyModifier.CONTROL);
         if (isMac()) {
@@ -830,8 +1124,9 @@ public class LocalizedStringEditAction
     }
 
     protected Button createCancelButton() {
-        Button cancelButton = new Button();
-        cancelButton.setIcon(ComponentUtils.convertToIcon(VaadinIcon.BAN));
+        Button cancelButton = new Button(cancelText);
+        cancelButton.setIcon(cancelIconSet ? cancelIcon : ComponentUtils.convertToIcon(VaadinIcon.BAN));
+        cancelButton.setThemeName(cancelButtonTheme);
         cancelButton.addClickListener(this::doClose);
         cancelButton.addClassName("localized-string-editor-cancel");
         addButtonClickShortcut(cancelButton, Key.ESCAPE);
@@ -846,17 +1141,144 @@ public class LocalizedStringEditAction
     }
 
     protected void doSave(ClickEvent<Button> event) {
-        Map<Locale, String> localizedValues = getFields().asMap()
-                .entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey,
-                        entry -> entry.getValue().getValue())
-                );
+        if (!pendingValidations.isEmpty()) {
+            return;
+        }
+
+        Map<Locale, String> localizedValues = new HashMap<>();
+        for (Locale locale : availableLocales.keySet()) {
+            // Fields that have not been shown keep the initial value
+            HasValueAndElement<?, String> field = getFields().getIfPresent(locale);
+            localizedValues.put(locale, field != null && syncedLocales.contains(locale)
+                    ? field.getValue()
+                    : getInitialValue(locale));
+        }
 
-        target.setValueFromClient(new LocalizedString(localizedValues));
+        LocalizedString value = new LocalizedString(localizedValues);
+        if (!validateLocalizedString(value)) {
+            return;
+        }
+
+        target.setValueFromClient(value);
         hasUnsavedChanges = false;
         closeInternal();
     }
 
+    protected boolean validateLocalizedString(LocalizedString value) {
+        if (localizedStringValidators == null || localizedStringValidators.isEmpty()) {
+            return true;
+        }
+
+        clearValueViolations();
+        List<LocalizedStringViolation> violations = new ArrayList<>();
+        for (LocalizedStringValidator validator : localizedStringValidators) {
+            violations.addAll(validator.validate(value));
+        }
+
+        if (violations.isEmpty()) {
+            return true;
+        }
+
+        List<String> errorMessages = new ArrayList<>();
+        for (LocalizedStringViolation violation : violations) {
+            Locale locale = violation.locale();
+            if (locale == null || !availableLocales.containsKey(locale)) {
+                errorMessages.add(violation.message());
+            } else {
+                valueViolations.putIfAbsent(locale, violation.message());
+            }
+        }
+
+        if (!valueViolations.isEmpty() && localeTabMap != null) {
+            localeTabs.setSelectedTab(localeTabMap.get(valueViolations.keySet().iterator().next()));
+        }
+
+        // Violations are kept apart from the invalid state of fields, as they can be fixed by changing
+        // other locales. Fields of other tabs aren't created, their violations are shown on selection.
+        valueViolations.forEach((locale, message) -> {
+            if (!showValueViolation(locale)) {
+                errorMessages.add(availableLocales.get(locale) + ": " + message);
+            }
+        });
+
+        if (!errorMessages.isEmpty()) {
+            notifications.create(String.join("\n", errorMessages))
+                    .withType(Notifications.Type.ERROR)
+                    .show();
+        }
+
+        return false;
+    }
+
+    /**
+     * Shows a whole-value violation of the given locale by its field if the field is displayed.
+     *
+     * @param locale a locale having a violation
+     * @return {@code true} if the violation is shown by the field
+     */
+    protected boolean showValueViolation(Locale locale) {
+        Tab tab = localeTabMap != null ? localeTabMap.get(locale) : null;
+        if (tab != null) {
+            tab.setClassName("localized-string-editor-tab-invalid", true);
+        }
+
+        HasValueAndElement<?, String> field = getFields().getIfPresent(locale);
+        boolean displayed = syncedLocales.contains(locale)
+                && (contentLayoutMode != EditorLayoutMode.TABS || tab != null && tab.equals(localeTabs.getSelectedTab()));
+        if (!displayed || !(field instanceof HasValidation hasValidation)) {
+            return false;
+        }
+
+        // The own error of a field takes precedence
+        if (!invalidLocales.contains(locale)) {
+            updatingValueViolations = true;
+            try {
+                hasValidation.setErrorMessage(valueViolations.get(locale));
+                hasValidation.setInvalid(true);
+            } finally {
+                updatingValueViolations = false;
+            }
+            valueViolationFields.add(locale);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void clearValueViolations() {
+        if (valueViolations.isEmpty()) {
+            return;
+        }
+
+        for (Locale locale : valueViolationFields) {
+            HasValueAndElement<?, String> field = getFields().getIfPresent(locale);
+            if (field instanceof HasValidation hasValidation) {
+                updatingValueViolations = true;
+                try {
+                    hasValidation.setInvalid(false);
+                } finally {
+                    updatingValueViolations = false;
+                }
+            }
+
+            // Restores the own error of the field, if any
+            if (field instanceof SupportsValidation) {
+                try {
+                    ((SupportsValidation<String>) field).executeValidators();
+                } catch (ValidationException e) {
+                    // shown by the field
+                }
+            }
+        }
+
+        if (localeTabMap != null) {
+            valueViolations.keySet().forEach(locale -> localeTabMap.get(locale)
+                    .setClassName("localized-string-editor-tab-invalid", invalidLocales.contains(locale)));
+        }
+
+        valueViolations.clear();
+        valueViolationFields.clear();
+    }
+
     protected void doClose(ClickEvent<Button> event) {
         closeInternal();
     }
@@ -886,6 +1308,12 @@ public class LocalizedStringEditAction
     }
 
     protected Component createContent() {
+        return layoutMode == EditorLayoutMode.TABS
+                ? createTabsContent()
+                : createListContent();
+    }
+
+    protected Component createListContent() {
         VerticalLayout layout = new VerticalLayout();
         layout.setPadding(false);
         layout.setSpacing(false);
@@ -899,6 +1327,93 @@ public class LocalizedStringEditAction
         return layout;
     }
 
+    protected Component createTabsContent() {
+        VerticalLayout layout = new VerticalLayout();
+        layout.setPadding(false);
+        layout.setSpacing(false);
+        layout.setAlignItems(FlexComponent.Alignment.STRETCH);
+        layout.setClassName("localized-string-editor-content");
+
+        fieldContainer = new Div();
+        fieldContainer.setClassName("localized-string-editor-field-container");
+
+        localeTabs = new Tabs();
+        localeTabs.setClassName("localized-string-editor-tabs");
+        localeTabMap = new HashMap<>();
+        for (Map.Entry<Locale, String> entry : availableLocales.entrySet()) {
+            Tab tab = new Tab(entry.getValue());
+            ComponentUtil.setData(tab, Locale.class, entry.getKey());
+            tab.setClassName("localized-string-editor-tab-invalid", invalidLocales.contains(entry.getKey()));
+            localeTabs.add(tab);
+            localeTabMap.put(entry.getKey(), tab);
+        }
+        localeTabs.addSelectedChangeListener(event -> onLocaleTabSelected(event.getSelectedTab()));
+        onLocaleTabSelected(localeTabs.getSelectedTab());
+
+        layout.add(createLocaleSearchField(localeTabs), localeTabs, fieldContainer);
+
+        return layout;
+    }
+
+    protected void updateContent() {
+        if (contentLayoutMode == EditorLayoutMode.TABS) {
+            // Fields of other tabs are synced when their tabs are selected
+            Tab selectedTab = localeTabs.getSelectedTab();
+            if (selectedTab != null) {
+                getField(ComponentUtil.getData(selectedTab, Locale.class));
+            }
+        } else {
+            availableLocales.keySet().forEach(this::getField);
+        }
+    }
+
+    protected Component createLocaleSearchField(Tabs tabs) {
+        TextField searchField = uiComponents.create(TextField.class);
+        searchField.setPlaceholder(messages.getMessage("actions.localizedStringEdit.editor.searchPlaceholder"));
+        searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
+        searchField.setClearButtonVisible(true);
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.setClassName("localized-string-editor-search");
+        searchField.addValueChangeListener(event -> filterLocaleTabs(tabs, event.getValue()));
+
+        return searchField;
+    }
+
+    protected void filterLocaleTabs(Tabs tabs, @Nullable String searchText) {
+        String text = Strings.nullToEmpty(searchText).trim().toLowerCase();
+        Tab firstVisibleTab = null;
+
+        for (int i = 0; i < tabs.getComponentCount(); i++) {
+            Tab tab = (Tab) tabs.getComponentAt(i);
+            Locale locale = ComponentUtil.getData(tab, Locale.class);
+            boolean visible = text.isEmpty()
+                    || availableLocales.get(locale).toLowerCase().contains(text)
+                    || locale.toString().toLowerCase().contains(text);
+            tab.setVisible(visible);
+
+            if (visible && firstVisibleTab == null) {
+                firstVisibleTab = tab;
+            }
+        }
+
+        Tab selectedTab = tabs.getSelectedTab();
+        if (firstVisibleTab != null
+                && (selectedTab == null || !selectedTab.isVisible())) {
+            tabs.setSelectedTab(firstVisibleTab);
+        }
+    }
+
+    protected void onLocaleTabSelected(@Nullable Tab tab) {
+        fieldContainer.removeAll();
+        if (tab != null) {
+            Locale locale = ComponentUtil.getData(tab, Locale.class);
+            fieldContainer.add((Component) getField(locale));
+            if (valueViolations.containsKey(locale)) {
+                showValueViolation(locale);
+            }
+        }
+    }
+
     protected HasValueAndElement<?, String> getField(Locale locale) {
         HasValueAndElement<?, String> field = getFields().getIfPresent(locale);
         if (field == null) {
@@ -906,7 +1421,17 @@ public class LocalizedStringEditAction
             getFields().put(locale, field);
         }
 
-        field.setValue(getInitialValue(locale));
+        // The value is set only once per dialog opening, so that
+        // switching between locales doesn't reset entered values
+        if (syncedLocales.add(locale)) {
+            String initialValue = getInitialValue(locale);
+            if (!Objects.equals(field.getValue(), initialValue)) {
+                boolean unsavedChanges = hasUnsavedChanges;
+                field.setValue(initialValue);
+                hasUnsavedChanges = unsavedChanges;
+            }
+        }
+
         return field;
     }
 
@@ -931,9 +1456,15 @@ public class LocalizedStringEditAction
     protected void initField(HasValueAndElement<?, String> field,
                              Locale locale,
                              @Nullable MetaPropertyPath metaPropertyPath) {
-        field.addValueChangeListener(event -> hasUnsavedChanges = true);
+        field.addValueChangeListener(event -> {
+            hasUnsavedChanges = true;
+            // A whole-value violation may be fixed by any locale
+            if (event.isFromClient()) {
+                clearValueViolations();
+            }
+        });
         field.getElement()
-                .addPropertyChangeListener("invalid", this::onFieldInvalidChanged);
+                .addPropertyChangeListener("invalid", event -> onFieldInvalidChanged(locale, event));
 
         if (field instanceof HasLabel hasLabel) {
             hasLabel.setLabel(availableLocales.get(locale));
@@ -947,17 +1478,42 @@ public class LocalizedStringEditAction
         initValidators(field, locale);
     }
 
-    protected void onFieldInvalidChanged(PropertyChangeEvent propertyChangeEvent) {
-        saveButton.setEnabled(!hasInvalidFields());
+    protected void onFieldInvalidChanged(Locale locale, PropertyChangeEvent propertyChangeEvent) {
+        if (updatingValueViolations) {
+            return;
+        }
+
+        boolean invalid = propertyChangeEvent.getSource().getProperty("invalid", false);
+        boolean changed = invalid
+                ? invalidLocales.add(locale)
+                : invalidLocales.remove(locale);
+
+        if (changed) {
+            updateSaveButtonState();
+
+            Tab tab = localeTabMap != null ? localeTabMap.get(locale) : null;
+            if (tab != null) {
+                tab.setClassName("localized-string-editor-tab-invalid", invalid);
+            }
+        }
+    }
+
+    protected void updateSaveButtonState() {
+        saveButton.setEnabled(!hasInvalidFields() && pendingValidations.isEmpty());
     }
 
     protected boolean hasInvalidFields() {
-        return getFields().asMap().entrySet()
-                .stream()
-                .anyMatch(entry ->
-                        entry.getValue() instanceof HasValidation hasValidation
-                                && hasValidation.isInvalid()
-                );
+        return !invalidLocales.isEmpty();
+    }
+
+    /**
+     * Returns locales whose fields in the edit dialog currently have invalid values.
+     * The returned set is updated as field validation state changes.
+     *
+     * @return an unmodifiable set of locales whose fields are invalid
+     */
+    public Set<Locale> getInvalidLocales() {
+        return Collections.unmodifiableSet(invalidLocales);
     }
 
     protected void initMultilineField(HasValueAndElement<?, String> field) {
@@ -1030,6 +1586,113 @@ public class LocalizedStringEditAction
             validators.forEach(validator ->
                     ((SupportsValidation<String>) field).addValidator(new ValidatorAdapter(validator, locale)));
         }
+
+        if (asyncValidators != null && !asyncValidators.isEmpty()) {
+            field.addValueChangeListener(event -> {
+                if (event.isFromClient()) {
+                    startAsyncValidation(locale, field, event.getValue());
+                }
+            });
+
+            // Keeps the result of an async validation when a field is validated again, e.g. on blur
+            if (field instanceof SupportsValidation) {
+                ((SupportsValidation<String>) field).addValidator(value -> {
+                    AsyncValidationError error = asyncValidationErrors.get(locale);
+                    if (error != null && Objects.equals(error.value(), value)) {
+                        throw new ValidationException(error.message());
+                    }
+                });
+            }
+        }
+    }
+
+    protected void startAsyncValidation(Locale locale, HasValueAndElement<?, String> field, @Nullable String value) {
+        UI ui = UI.getCurrent();
+        if (ui == null) {
+            return;
+        }
+
+        CompletableFuture<String> previous = pendingValidations.remove(locale);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        asyncValidationErrors.remove(locale);
+
+        ValidationContext context = new ValidationContext(locale, value);
+        List<AsyncValidator> validators = List.copyOf(asyncValidators);
+
+        CompletableFuture<String> future = asyncValidationExecutor.submit(() -> validateAsync(validators, context));
+        pendingValidations.put(locale, future);
+        updateSaveButtonState();
+
+        future.whenComplete((errorMessage, throwable) -> {
+            try {
+                ui.access(() -> onAsyncValidationCompleted(locale, field, value, future, errorMessage, throwable));
+            } catch (UIDetachedException e) {
+                // the UI is closed, nothing to update
+            }
+        });
+    }
+
+    @Nullable
+    protected String validateAsync(List<AsyncValidator> validators, ValidationContext context) {
+        try {
+            for (AsyncValidator validator : validators) {
+                validator.accept(context);
+            }
+            return null;
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    protected void onAsyncValidationCompleted(Locale locale,
+                                              HasValueAndElement<?, String> field,
+                                              @Nullable String value,
+                                              CompletableFuture<String> future,
+                                              @Nullable String errorMessage,
+                                              @Nullable Throwable throwable) {
+        // Results of stale or cancelled validations are ignored
+        if (pendingValidations.get(locale) != future) {
+            return;
+        }
+        pendingValidations.remove(locale);
+
+        if (throwable instanceof CompletionException) {
+            throwable = throwable.getCause();
+        }
+        if (throwable instanceof TimeoutException) {
+            log.debug("Async validation of '{}' value is timed out", locale);
+            errorMessage = messages.getMessage("actions.localizedStringEdit.editor.validationTimeout");
+        } else if (throwable != null) {
+            log.warn("Async validation of '{}' value failed", locale, throwable);
+        }
+
+        if (errorMessage != null) {
+            asyncValidationErrors.put(locale, new AsyncValidationError(value, errorMessage));
+
+            if (field instanceof HasValidation hasValidation) {
+                hasValidation.setErrorMessage(errorMessage);
+                hasValidation.setInvalid(true);
+            }
+        }
+
+        if (saveButton != null) {
+            updateSaveButtonState();
+        }
+    }
+
+    protected void cancelAsyncValidations() {
+        if (pendingValidations.isEmpty()) {
+            return;
+        }
+
+        pendingValidations.values().forEach(future -> future.cancel(false));
+        pendingValidations.clear();
+
+        if (saveButton != null) {
+            updateSaveButtonState();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -1052,10 +1715,54 @@ public class LocalizedStringEditAction
         return System.getProperty("os.name").contains("Mac");
     }
 
+    protected void onTargetDetach(DetachEvent detachEvent) {
+        releaseDialog();
+    }
+
+    /**
+     * Releases the edit dialog and cached fields, so they can be garbage collected.
+     * The dialog is created again the next time the action is executed.
+     */
+    protected void releaseDialog() {
+        if (dialog == null) {
+            return;
+        }
+
+        if (dialog.isOpened()) {
+            dialog.close();
+        }
+
+        dialog = null;
+        saveButton = null;
+        cancelButton = null;
+        content = null;
+        contentLayoutMode = null;
+        localeTabs = null;
+        localeTabMap = null;
+        fieldContainer = null;
+        fieldCache = null;
+        invalidLocales.clear();
+        valueViolations.clear();
+        valueViolationFields.clear();
+        cancelAsyncValidations();
+        asyncValidationErrors.clear();
+    }
+
     protected void onDialogOpenedChanged(Dialog.OpenedChangeEvent openedChangeEvent) {
         if (openedChangeEvent.isOpened()) {
             UiComponentUtils.findFocusComponent(dialog)
                     .ifPresent(Focusable::focus);
+        } else {
+            cancelAsyncValidations();
         }
     }
+
+    /**
+     * The result of a failed async validation.
+     *
+     * @param value   a validated value
+     * @param message an error message
+     */
+    protected record AsyncValidationError(@Nullable String value, String message) {
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.action;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event emitted when {@link LocalizedStringEditAction} creates
+ * the content of the edit dialog. The event duration is the content creation time.
+ * <p>
+ * Records the edited entity and attribute and the number of fields shown in the dialog:
+ * a field per available locale in the list layout or the field of the selected tab in
+ * the tabs layout. The 10 ms threshold by default skips most reopenings, which only update
+ * changed values of existing fields.
+ */
+@Name("com.glebfox.jmix.locstr.LocalizedStringEditorOpen")
+@Label("LocalizedString Editor Open")
+@Description("Creation of the LocalizedStringEditAction dialog content")
+@Category({"Jmix", "LocalizedString"})
+@Threshold("10 ms")
+@StackTrace(false)
+class LocalizedStringEditorOpenEvent extends Event {
+
+    @Label("Entity")
+    String entity;
+
+    @Label("Attribute")
+    String attribute;
+
+    @Label("Field Count")
+    int fieldCount;
+}
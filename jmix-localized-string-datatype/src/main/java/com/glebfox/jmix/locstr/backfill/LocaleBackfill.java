@@ -0,0 +1,549 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.backfill;
+
+import com.glebfox.jmix.locstr.LocstrProperties;
+import com.glebfox.jmix.locstr.completeness.LocaleCompletenessSupport;
+import com.glebfox.jmix.locstr.coverage.TranslationCoverageService;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.locale.LocaleCatalog;
+import com.glebfox.jmix.locstr.search.LocalizedStringIndex;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.util.concurrent.RateLimiter;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.Stores;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Adds values of a new locale to all stored {@link LocalizedString} attributes, e.g. after the
+ * locale is added to {@code jmix.core.available-locales}.
+ * <p>
+ * Attributes are discovered from metadata and updated with JDBC in chunks of
+ * {@code locstr.locale-backfill-chunk-size} rows ordered by the primary key, limited to
+ * {@code locstr.locale-backfill-rows-per-second}. Jobs run one by one in a background thread.
+ * <p>
+ * Values that already have the locale are left intact, so a job can be resumed or repeated.
+ * The last key of a chunk is found without locks, then the rows of the chunk are read with
+ * {@code select ... for update} by their key range and updated in the same transaction. If an
+ * entity has a numeric {@link Version} attribute, the version is incremented, so entities loaded
+ * before the update fail to save with an optimistic lock error. Entities without a version
+ * attribute loaded before the update overwrite the added values when saved. Rows that weren't
+ * updated, e.g. because they were deleted, are counted as conflicts and the job finishes with the
+ * {@link LocaleBackfillJob.Status#COMPLETED_WITH_CONFLICTS} status. Updates bypass the persistence
+ * context, so the EclipseLink shared cache must not be enabled for the processed entities.
+ */
+@Component("locstr_LocaleBackfill")
+public class LocaleBackfill implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LocaleBackfill.class);
+
+    protected final Metadata metadata;
+    protected final MetadataTools metadataTools;
+    protected final LocaleCatalog localeCatalog;
+    protected final LocaleCompletenessSupport completenessSupport;
+    protected final TranslationCoverageService coverageService;
+    protected final LocalizedStringIndex searchIndex;
+    protected final LocstrProperties properties;
+    protected final JdbcTemplate jdbcTemplate;
+    protected final TransactionTemplate transactionTemplate;
+
+    protected final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "locstr-locale-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    protected final List<LocaleBackfillJob> jobs = new CopyOnWriteArrayList<>();
+    protected volatile Boolean sqlServer;
+
+    public LocaleBackfill(Metadata metadata,
+                          MetadataTools metadataTools,
+                          LocaleCatalog localeCatalog,
+                          LocaleCompletenessSupport completenessSupport,
+                          TranslationCoverageService coverageService,
+                          LocalizedStringIndex searchIndex,
+                          LocstrProperties properties,
+                          DataSource dataSource,
+                          PlatformTransactionManager transactionManager) {
+        this.metadata = metadata;
+        this.metadataTools = metadataTools;
+        this.localeCatalog = localeCatalog;
+        this.completenessSupport = completenessSupport;
+        this.coverageService = coverageService;
+        this.searchIndex = searchIndex;
+        this.properties = properties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return persistent {@link LocalizedString} attributes of entities of the main data store
+     */
+    public List<LocaleBackfillAttribute> getAttributes() {
+        // entities of a single-table hierarchy share columns
+        Map<String, LocaleBackfillAttribute> attributes = new LinkedHashMap<>();
+        metadata.getSession().getClasses().stream()
+                .filter(metadataTools::isJpaEntity)
+                .filter(metaClass -> Stores.MAIN.equals(metaClass.getStore().getName()))
+                .sorted(Comparator.comparing(MetaClass::getName))
+                .forEach(metaClass -> {
+                    for (MetaProperty metaProperty : metaClass.getProperties()) {
+                        if (isLocalizedString(metaProperty) && metadataTools.isJpa(metaProperty)) {
+                            LocaleBackfillAttribute attribute = createAttribute(metaClass, metaProperty);
+                            if (attribute != null) {
+                                attributes.putIfAbsent(attribute.table() + "." + attribute.column(), attribute);
+                            }
+                        }
+                    }
+                });
+        return List.copyOf(attributes.values());
+    }
+
+    /**
+     * @return all jobs started since the application start
+     */
+    public List<LocaleBackfillJob> getJobs() {
+        return List.copyOf(jobs);
+    }
+
+    /**
+     * Starts a job adding values of the given locale.
+     *
+     * @param locale       an available locale to add values of
+     * @param mode         defines added values
+     * @param sourceLocale a locale whose values are copied in the {@link LocaleBackfillMode#COPY_SOURCE} mode
+     * @return the started job
+     */
+    public LocaleBackfillJob start(Locale locale, LocaleBackfillMode mode, @Nullable Locale sourceLocale) {
+        Preconditions.checkArgument(localeCatalog.contains(locale), "Locale is not available: %s", locale);
+        if (mode == LocaleBackfillMode.COPY_SOURCE) {
+            Preconditions.checkArgument(sourceLocale != null, "Source locale is required to copy values");
+            Preconditions.checkArgument(!locale.equals(sourceLocale), "Source locale must differ from %s", locale);
+        }
+
+        LocaleBackfillJob job = new LocaleBackfillJob(locale, mode,
+                mode == LocaleBackfillMode.COPY_SOURCE ? sourceLocale : null);
+        jobs.add(job);
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    /**
+     * Continues a cancelled or failed job from its checkpoints. A job completed with conflicts is
+     * run again from the beginning, values that already have the locale are skipped.
+     *
+     * @param job a job to resume
+     */
+    public void resume(LocaleBackfillJob job) {
+        Preconditions.checkState(!job.isActive() && job.getStatus() != LocaleBackfillJob.Status.COMPLETED,
+                "Job %s can't be resumed in the %s status", job.getId(), job.getStatus());
+
+        if (job.getStatus() == LocaleBackfillJob.Status.COMPLETED_WITH_CONFLICTS) {
+            job.checkpoints.clear();
+            job.completedAttributes.clear();
+            job.processedRows.set(0);
+            job.conflictedRows.set(0);
+        }
+
+        job.cancelRequested = false;
+        job.error = null;
+        job.status = LocaleBackfillJob.Status.QUEUED;
+        executor.execute(() -> run(job));
+    }
+
+    /**
+     * Requests the job to stop after the current chunk.
+     *
+     * @param job a job to cancel
+     */
+    public void cancel(LocaleBackfillJob job) {
+        job.cancelRequested = true;
+    }
+
+    @Override
+    public void destroy() {
+        jobs.forEach(this::cancel);
+        executor.shutdown();
+    }
+
+    protected void run(LocaleBackfillJob job) {
+        if (job.cancelRequested) {
+            job.status = LocaleBackfillJob.Status.CANCELLED;
+            return;
+        }
+
+        job.status = LocaleBackfillJob.Status.RUNNING;
+        log.info("Backfill of locale {} started in the {} mode", job.getLocale(), job.getMode());
+        try {
+            List<LocaleBackfillAttribute> attributes = getAttributes();
+            job.totalRows = attributes.stream()
+                    .mapToLong(this::countRows)
+                    .sum();
+
+            int rowsPerSecond = properties.getLocaleBackfillRowsPerSecond();
+            RateLimiter rateLimiter = rowsPerSecond > 0 ? RateLimiter.create(rowsPerSecond) : null;
+            Set<MetaClass> processedEntities = new LinkedHashSet<>();
+            for (LocaleBackfillAttribute attribute : attributes) {
+                if (job.cancelRequested) {
+                    break;
+                }
+                if (job.completedAttributes.contains(attribute.getName())) {
+                    continue;
+                }
+
+                job.currentAttribute = attribute.getName();
+                backfill(job, attribute, rateLimiter);
+                if (!job.cancelRequested) {
+                    job.completedAttributes.add(attribute.getName());
+                }
+                coverageService.refresh(attribute.metaClass());
+                processedEntities.add(attribute.metaClass());
+            }
+
+            // updates bypass entity events, so the full-text index isn't updated incrementally
+            processedEntities.stream()
+                    .filter(searchIndex.getIndexedEntities()::contains)
+                    .forEach(searchIndex::rebuild);
+
+            if (job.cancelRequested) {
+                job.status = LocaleBackfillJob.Status.CANCELLED;
+            } else if (job.getConflictedRows() > 0) {
+                job.status = LocaleBackfillJob.Status.COMPLETED_WITH_CONFLICTS;
+            } else {
+                job.status = LocaleBackfillJob.Status.COMPLETED;
+            }
+            log.info("Backfill of locale {} {}: {} processed, {} updated, {} changed concurrently",
+                    job.getLocale(), job.status.name().toLowerCase(), job.getProcessedRows(),
+                    job.getUpdatedRows(), job.getConflictedRows());
+        } catch (RuntimeException e) {
+            log.error("Backfill of locale {} failed at {}, checkpoints: {}",
+                    job.getLocale(), job.currentAttribute, job.checkpoints, e);
+            job.error = e.getMessage();
+            job.status = LocaleBackfillJob.Status.FAILED;
+        } finally {
+            job.currentAttribute = null;
+        }
+    }
+
+    protected void backfill(LocaleBackfillJob job, LocaleBackfillAttribute attribute,
+                            @Nullable RateLimiter rateLimiter) {
+        int chunkSize = properties.getLocaleBackfillChunkSize();
+        while (!job.cancelRequested) {
+            // waiting for permits between reading and writing rows would widen the window
+            // for concurrent changes, so permits are acquired before the chunk is read
+            if (rateLimiter != null) {
+                rateLimiter.acquire(chunkSize);
+            }
+
+            Object lastKey = job.checkpoints.get(attribute.getName());
+            Object endKey = findChunkEnd(attribute, lastKey, chunkSize);
+            if (endKey == null) {
+                break;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Row> rows = loadChunk(attribute, lastKey, endKey);
+                updateChunk(job, attribute, rows);
+                job.processedRows.addAndGet(rows.size());
+            });
+
+            job.checkpoints.put(attribute.getName(), endKey);
+            log.debug("Backfill of locale {} in {}: checkpoint {}", job.getLocale(), attribute.getName(), endKey);
+        }
+    }
+
+    /**
+     * Returns the primary key of the last row of a chunk following the given key. Keys are read without
+     * locks, so that {@link #lockChunk(LocaleBackfillAttribute, List, Object, Object, RowMapper)} locks
+     * only rows of the chunk.
+     *
+     * @param attribute an attribute
+     * @param lastKey   the last key of the previous chunk or {@code null} for the first chunk
+     * @param chunkSize the maximum number of rows in the chunk
+     * @return the last key of the chunk or {@code null} if there are no rows after {@code lastKey}
+     */
+    @Nullable
+    public Object findChunkEnd(LocaleBackfillAttribute attribute, @Nullable Object lastKey, int chunkSize) {
+        // keyset pagination doesn't slow down on deep pages, unlike offsets
+        StringBuilder sql = new StringBuilder("select ").append(attribute.primaryKeyColumn())
+                .append(" from ").append(attribute.table());
+        if (lastKey != null) {
+            sql.append(" where ").append(attribute.primaryKeyColumn()).append(" > ?");
+        }
+        sql.append(" order by ").append(attribute.primaryKeyColumn());
+
+        List<Object> keys = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            statement.setMaxRows(chunkSize);
+            statement.setFetchSize(chunkSize);
+            if (lastKey != null) {
+                statement.setObject(1, lastKey);
+            }
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getObject(1));
+        return keys.isEmpty() ? null : keys.get(keys.size() - 1);
+    }
+
+    /**
+     * Reads rows of a chunk and locks them until the end of the current transaction. Rows are selected
+     * by a range of primary keys rather than by a row limit: some databases lock all rows matching a
+     * query even if only a part of them is fetched.
+     *
+     * @param attribute an attribute
+     * @param columns   columns to read
+     * @param lastKey   the last key of the previous chunk or {@code null} for the first chunk
+     * @param endKey    the last key of the chunk returned by {@link #findChunkEnd(LocaleBackfillAttribute, Object, int)}
+     * @param rowMapper a mapper of read rows
+     * @return rows ordered by the primary key
+     */
+    public <T> List<T> lockChunk(LocaleBackfillAttribute attribute, List<String> columns,
+                                 @Nullable Object lastKey, Object endKey, RowMapper<T> rowMapper) {
+        boolean sqlServer = isSqlServer();
+        StringBuilder sql = new StringBuilder("select ").append(String.join(", ", columns))
+                .append(" from ").append(attribute.table());
+        if (sqlServer) {
+            // SQL Server doesn't support the for update clause
+            sql.append(" with (updlock, rowlock)");
+        }
+        sql.append(" where ");
+        if (lastKey != null) {
+            sql.append(attribute.primaryKeyColumn()).append(" > ? and ");
+        }
+        sql.append(attribute.primaryKeyColumn()).append(" <= ?")
+                .append(" order by ").append(attribute.primaryKeyColumn());
+        if (!sqlServer) {
+            sql.append(" for update");
+        }
+
+        Object[] args = lastKey != null ? new Object[]{lastKey, endKey} : new Object[]{endKey};
+        return jdbcTemplate.query(sql.toString(), rowMapper, args);
+    }
+
+    protected List<Row> loadChunk(LocaleBackfillAttribute attribute, @Nullable Object lastKey, Object endKey) {
+        List<String> columns = new ArrayList<>(List.of(attribute.primaryKeyColumn(), attribute.column()));
+        if (attribute.versionColumn() != null) {
+            columns.add(attribute.versionColumn());
+        }
+
+        // rows stay locked until the chunk is updated, so concurrent saves of entities
+        // without a version attribute can't be overwritten with stale values
+        return lockChunk(attribute, columns, lastKey, endKey, (resultSet, rowNum) ->
+                new Row(resultSet.getObject(1), resultSet.getString(2),
+                        attribute.versionColumn() != null ? resultSet.getObject(3) : null));
+    }
+
+    protected boolean isSqlServer() {
+        Boolean result = sqlServer;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.getMetaData().getDatabaseProductName().startsWith("Microsoft SQL Server"));
+            sqlServer = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+
+    protected void updateChunk(LocaleBackfillJob job, LocaleBackfillAttribute attribute, List<Row> rows) {
+        List<Object[]> updates = new ArrayList<>();
+        for (Row row : rows) {
+            LocalizedString value = createValue(job, row.json());
+            if (value == null) {
+                continue;
+            }
+
+            List<Object> args = new ArrayList<>(4);
+            args.add(value.toJson());
+            if (attribute.maskProperty() != null) {
+                long mask = completenessSupport.getMask(value);
+                args.add(Long.class.equals(attribute.maskProperty().getJavaType()) ? (Object) mask : (Object) (int) mask);
+            }
+            args.add(row.key());
+            if (attribute.versionColumn() != null) {
+                args.add(row.version());
+            }
+            updates.add(args.toArray());
+        }
+
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(createUpdateSql(attribute), updates);
+        for (int count : counts) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                job.updatedRows.incrementAndGet();
+            } else {
+                job.conflictedRows.incrementAndGet();
+            }
+        }
+    }
+
+    protected String createUpdateSql(LocaleBackfillAttribute attribute) {
+        StringBuilder sql = new StringBuilder("update ").append(attribute.table())
+                .append(" set ").append(attribute.column()).append(" = ?");
+        if (attribute.maskColumn() != null) {
+            sql.append(", ").append(attribute.maskColumn()).append(" = ?");
+        }
+        if (attribute.versionColumn() != null) {
+            sql.append(", ").append(attribute.versionColumn()).append(" = ")
+                    .append(attribute.versionColumn()).append(" + 1");
+        }
+        sql.append(" where ").append(attribute.primaryKeyColumn()).append(" = ?");
+        if (attribute.versionColumn() != null) {
+            sql.append(" and ").append(attribute.versionColumn()).append(" = ?");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Creates a value with the job locale added.
+     *
+     * @param job  a job
+     * @param json a stored value
+     * @return the new value or {@code null} if the stored value shouldn't be changed
+     */
+    @Nullable
+    protected LocalizedString createValue(LocaleBackfillJob job, @Nullable String json) {
+        if (Strings.isNullOrEmpty(json)) {
+            return null;
+        }
+
+        LocalizedString value;
+        try {
+            value = LocalizedString.fromJson(json);
+        } catch (RuntimeException e) {
+            log.warn("Skipping a malformed value: {}", json, e);
+            return null;
+        }
+        if (value.getLocales().contains(job.getLocale())) {
+            return null;
+        }
+
+        String localeValue;
+        if (job.getMode() == LocaleBackfillMode.COPY_SOURCE) {
+            localeValue = value.getValue(Objects.requireNonNull(job.getSourceLocale()));
+            if (localeValue.isEmpty()) {
+                return null;
+            }
+        } else {
+            localeValue = "";
+        }
+
+        Map<Locale, String> values = new HashMap<>();
+        for (Locale locale : value.getLocales()) {
+            values.put(locale, value.getValue(locale));
+        }
+        values.put(job.getLocale(), localeValue);
+        return new LocalizedString(values);
+    }
+
+    protected long countRows(LocaleBackfillAttribute attribute) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from " + attribute.table(), Long.class);
+        return count != null ? count : 0;
+    }
+
+    @Nullable
+    protected LocaleBackfillAttribute createAttribute(MetaClass metaClass, MetaProperty metaProperty) {
+        String table = getTable(metaClass, metaProperty);
+        String column = getColumn(metaProperty);
+        MetaProperty primaryKey = metadataTools.getPrimaryKeyProperty(metaClass);
+        String primaryKeyColumn = primaryKey != null ? getColumn(primaryKey) : null;
+        if (table == null || column == null || primaryKeyColumn == null) {
+            log.warn("{}.{} is skipped: unable to determine its table, column or primary key column",
+                    metaClass.getName(), metaProperty.getName());
+            return null;
+        }
+
+        MetaProperty versionProperty = getVersionProperty(metaClass);
+        String maskAttribute = completenessSupport.getMaskAttribute(metaClass, metaProperty.getName());
+        MetaProperty maskProperty = maskAttribute != null ? metaClass.getProperty(maskAttribute) : null;
+        return new LocaleBackfillAttribute(metaClass, metaProperty.getName(), table, column, primaryKeyColumn,
+                versionProperty != null ? getColumn(versionProperty) : null,
+                maskProperty,
+                maskProperty != null ? getColumn(maskProperty) : null);
+    }
+
+    @Nullable
+    protected String getTable(MetaClass metaClass, MetaProperty metaProperty) {
+        // an attribute of a joined hierarchy is stored in the table of the declaring entity
+        if (metaProperty.getAnnotatedElement() instanceof Field field) {
+            Table table = field.getDeclaringClass().getAnnotation(Table.class);
+            if (table != null) {
+                return table.name();
+            }
+        }
+
+        for (Class<?> javaClass = metaClass.getJavaClass(); javaClass != null; javaClass = javaClass.getSuperclass()) {
+            Table table = javaClass.getAnnotation(Table.class);
+            if (table != null) {
+                return table.name();
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    protected String getColumn(MetaProperty metaProperty) {
+        AnnotatedElement annotatedElement = metaProperty.getAnnotatedElement();
+        Column column = annotatedElement != null ? annotatedElement.getAnnotation(Column.class) : null;
+        return column != null && !column.name().isEmpty() ? column.name() : null;
+    }
+
+    @Nullable
+    protected MetaProperty getVersionProperty(MetaClass metaClass) {
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            AnnotatedElement annotatedElement = metaProperty.getAnnotatedElement();
+            if (annotatedElement != null && annotatedElement.isAnnotationPresent(Version.class)
+                    && Number.class.isAssignableFrom(metaProperty.getJavaType())) {
+                return metaProperty;
+            }
+        }
+        return null;
+    }
+
+    protected boolean isLocalizedString(MetaProperty metaProperty) {
+        return metaProperty.getRange().isDatatype()
+                && LocalizedString.class.equals(metaProperty.getRange().asDatatype().getJavaClass());
+    }
+
+    protected record Row(Object key, @Nullable String json, @Nullable Object version) {
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.backfill;
+
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import org.springframework.lang.Nullable;
+
+/**
+ * A persistent {@link com.glebfox.jmix.locstr.datatype.LocalizedString} attribute processed by
+ * {@link LocaleBackfill} with its database mapping.
+ *
+ * @param metaClass        a meta-class of the entity
+ * @param attribute        a name of the attribute
+ * @param table            a table of the attribute column
+ * @param column           a column of the attribute
+ * @param primaryKeyColumn a primary key column of the table
+ * @param versionColumn    a numeric optimistic lock column or {@code null} if there is none
+ * @param maskProperty     a {@link com.glebfox.jmix.locstr.completeness.LocaleCompleteness} bitmask
+ *                         attribute or {@code null} if there is none
+ * @param maskColumn       a column of the bitmask attribute
+ */
+public record LocaleBackfillAttribute(MetaClass metaClass,
+                                      String attribute,
+                                      String table,
+                                      String column,
+                                      String primaryKeyColumn,
+                                      @Nullable String versionColumn,
+                                      @Nullable MetaProperty maskProperty,
+                                      @Nullable String maskColumn) {
+
+    /**
+     * @return a name of the attribute including the entity name, e.g. {@code locstr_Product.name}
+     */
+    public String getName() {
+        return metaClass.getName() + "." + attribute;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.backfill;
+
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State and progress of a {@link LocaleBackfill} job. A job keeps the last processed primary key
+ * of each attribute, so a cancelled or failed job continues from where it stopped.
+ */
+public class LocaleBackfillJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        CANCELLED,
+        COMPLETED,
+        /**
+         * Some rows weren't updated, the job can be resumed to process them again.
+         */
+        COMPLETED_WITH_CONFLICTS,
+        FAILED
+    }
+
+    protected final UUID id = UUID.randomUUID();
+    protected final Locale locale;
+    protected final LocaleBackfillMode mode;
+    protected final Locale sourceLocale;
+    protected final LocalDateTime createTs = LocalDateTime.now();
+
+    protected volatile Status status = Status.QUEUED;
+    protected volatile boolean cancelRequested;
+    protected volatile long totalRows;
+    protected final AtomicLong processedRows = new AtomicLong();
+    protected final AtomicLong updatedRows = new AtomicLong();
+    protected final AtomicLong conflictedRows = new AtomicLong();
+    protected volatile String currentAttribute;
+    protected volatile String error;
+
+    protected final Map<String, Object> checkpoints = new ConcurrentHashMap<>();
+    protected final Set<String> completedAttributes = ConcurrentHashMap.newKeySet();
+
+    protected LocaleBackfillJob(Locale locale, LocaleBackfillMode mode, @Nullable Locale sourceLocale) {
+        this.locale = locale;
+        this.mode = mode;
+        this.sourceLocale = sourceLocale;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * @return a locale whose values are added
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public LocaleBackfillMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return a locale whose values are copied in the {@link LocaleBackfillMode#COPY_SOURCE} mode
+     */
+    @Nullable
+    public Locale getSourceLocale() {
+        return sourceLocale;
+    }
+
+    public LocalDateTime getCreateTs() {
+        return createTs;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return {@code true} if the job is queued or running
+     */
+    public boolean isActive() {
+        return status == Status.QUEUED || status == Status.RUNNING;
+    }
+
+    /**
+     * @return the number of rows of all processed tables
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getProcessedRows() {
+        return processedRows.get();
+    }
+
+    public long getUpdatedRows() {
+        return updatedRows.get();
+    }
+
+    /**
+     * @return the number of rows that weren't updated because they were changed or deleted
+     * concurrently and have to be processed by resuming the job
+     */
+    public long getConflictedRows() {
+        return conflictedRows.get();
+    }
+
+    /**
+     * @return a share of processed rows from 0 to 1
+     */
+    public double getProgress() {
+        long total = totalRows;
+        return total > 0 ? Math.min(1, (double) processedRows.get() / total) : 0;
+    }
+
+    /**
+     * @return a name of the attribute being processed
+     */
+    @Nullable
+    public String getCurrentAttribute() {
+        return currentAttribute;
+    }
+
+    /**
+     * @return an error message if the job failed
+     */
+    @Nullable
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return last processed primary keys by {@link LocaleBackfillAttribute#getName() attribute names}
+     */
+    public Map<String, Object> getCheckpoints() {
+        return Map.copyOf(checkpoints);
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.backfill;
+
+/**
+ * Defines a value that {@link LocaleBackfill} adds for a new locale.
+ */
+public enum LocaleBackfillMode {
+
+    /**
+     * Copies the value of a source locale. Values without a source value aren't changed.
+     */
+    COPY_SOURCE,
+
+    /**
+     * Adds an empty value, which is counted as a missing translation by
+     * {@link com.glebfox.jmix.locstr.completeness.LocaleCompleteness} bitmasks and translation coverage.
+     */
+    MARK_MISSING
+}
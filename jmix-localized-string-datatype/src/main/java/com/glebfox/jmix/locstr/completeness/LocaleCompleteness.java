@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.completeness;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@code Integer} or {@code Long} attribute that stores locale completeness of a
+ * {@link com.glebfox.jmix.locstr.datatype.LocalizedString} attribute: a bitmask with one bit
+ * per available locale set if the value for the locale isn't blank.
+ * <p>
+ * The bitmask is updated when the entity is saved. Use {@link LocaleCompletenessSupport}
+ * to query entities by locale completeness.
+ * <pre>
+ * &#64;LocaleCompleteness("description")
+ * &#64;Column(name = "DESCRIPTION_COMPLETENESS")
+ * private Integer descriptionCompleteness;
+ * </pre>
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LocaleCompleteness {
+
+    /**
+     * @return a name of a {@link com.glebfox.jmix.locstr.datatype.LocalizedString} attribute
+     */
+    String value();
+}
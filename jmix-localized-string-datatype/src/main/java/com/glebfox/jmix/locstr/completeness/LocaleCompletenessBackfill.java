@@ -0,0 +1,188 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.completeness;
+
+import com.glebfox.jmix.locstr.backfill.LocaleBackfill;
+import com.glebfox.jmix.locstr.backfill.LocaleBackfillAttribute;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.google.common.base.Strings;
+import io.jmix.core.Metadata;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Recalculates locale completeness bitmasks of existing rows, e.g. after adding an attribute
+ * annotated with {@link LocaleCompleteness} or changing available locales. Only rows whose
+ * bitmasks differ are updated, so the backfill can be safely repeated or resumed.
+ * <p>
+ * Like {@link LocaleBackfill}, rows are read and updated with JDBC in chunks ordered by the primary
+ * key, each chunk locked by its key range in one transaction. Since bitmasks are derived
+ * from stored values, only bitmask columns are updated: versions aren't incremented and entity
+ * events aren't sent. Updates bypass the persistence context, so the EclipseLink shared cache must
+ * not be enabled for the processed entities.
+ */
+@Component("locstr_LocaleCompletenessBackfill")
+public class LocaleCompletenessBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(LocaleCompletenessBackfill.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    protected final Metadata metadata;
+    protected final LocaleBackfill localeBackfill;
+    protected final LocaleCompletenessSupport completenessSupport;
+    protected final JdbcTemplate jdbcTemplate;
+    protected final TransactionTemplate transactionTemplate;
+
+    public LocaleCompletenessBackfill(Metadata metadata,
+                                      LocaleBackfill localeBackfill,
+                                      LocaleCompletenessSupport completenessSupport,
+                                      DataSource dataSource,
+                                      PlatformTransactionManager transactionManager) {
+        this.metadata = metadata;
+        this.localeBackfill = localeBackfill;
+        this.completenessSupport = completenessSupport;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Recalculates bitmasks of all entities of the given class in batches of
+     * {@link #DEFAULT_BATCH_SIZE}.
+     *
+     * @param entityClass an entity class
+     * @return the number of updated rows
+     */
+    public long backfill(Class<?> entityClass) {
+        return backfill(entityClass, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Recalculates bitmasks of all entities of the given class.
+     *
+     * @param entityClass an entity class
+     * @param batchSize   the number of rows read and updated in one transaction
+     * @return the number of updated rows
+     */
+    public long backfill(Class<?> entityClass, int batchSize) {
+        MetaClass metaClass = metadata.getClass(entityClass);
+        List<LocaleBackfillAttribute> attributes = localeBackfill.getAttributes().stream()
+                .filter(attribute -> attribute.maskColumn() != null)
+                .filter(attribute -> attribute.metaClass().equals(metaClass)
+                        || metaClass.getAncestors().contains(attribute.metaClass())
+                        || attribute.metaClass().getAncestors().contains(metaClass))
+                .toList();
+        if (attributes.isEmpty()) {
+            throw new IllegalArgumentException(metaClass.getName() + " has no @LocaleCompleteness attributes");
+        }
+
+        long updated = 0;
+        for (LocaleBackfillAttribute attribute : attributes) {
+            updated += backfill(attribute, batchSize);
+        }
+        return updated;
+    }
+
+    protected long backfill(LocaleBackfillAttribute attribute, int batchSize) {
+        long processed = 0;
+        long updated = 0;
+        Object lastKey = null;
+        while (true) {
+            Object chunkKey = lastKey;
+            Object endKey = localeBackfill.findChunkEnd(attribute, chunkKey, batchSize);
+            if (endKey == null) {
+                break;
+            }
+
+            Chunk chunk = Objects.requireNonNull(transactionTemplate.execute(status -> {
+                List<Row> rows = loadChunk(attribute, chunkKey, endKey);
+                return new Chunk(rows.size(), updateChunk(attribute, rows));
+            }));
+
+            processed += chunk.rows();
+            updated += chunk.updated();
+            lastKey = endKey;
+            log.debug("Locale completeness of {}: {} processed, {} updated", attribute.getName(), processed, updated);
+        }
+
+        log.info("Locale completeness of {} recalculated: {} processed, {} updated",
+                attribute.getName(), processed, updated);
+        return updated;
+    }
+
+    protected List<Row> loadChunk(LocaleBackfillAttribute attribute, @Nullable Object lastKey, Object endKey) {
+        // values can't be changed concurrently between calculating and updating their bitmasks
+        return localeBackfill.lockChunk(attribute,
+                List.of(attribute.primaryKeyColumn(), attribute.column(), Objects.requireNonNull(attribute.maskColumn())),
+                lastKey, endKey,
+                (resultSet, rowNum) -> new Row(resultSet.getObject(1), resultSet.getString(2),
+                        (Number) resultSet.getObject(3)));
+    }
+
+    protected int updateChunk(LocaleBackfillAttribute attribute, List<Row> rows) {
+        boolean longMask = Long.class.equals(Objects.requireNonNull(attribute.maskProperty()).getJavaType());
+
+        List<Object[]> updates = new ArrayList<>();
+        for (Row row : rows) {
+            LocalizedString value = parseValue(row.json());
+            long mask = completenessSupport.getMask(value);
+            if (row.mask() == null || row.mask().longValue() != mask) {
+                updates.add(new Object[]{longMask ? (Object) mask : (Object) (int) mask, row.key()});
+            }
+        }
+
+        if (updates.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate("update " + attribute.table()
+                + " set " + attribute.maskColumn() + " = ?"
+                + " where " + attribute.primaryKeyColumn() + " = ?", updates);
+        return updates.size();
+    }
+
+    @Nullable
+    protected LocalizedString parseValue(@Nullable String json) {
+        if (Strings.isNullOrEmpty(json)) {
+            return null;
+        }
+
+        try {
+            return LocalizedString.fromJson(json);
+        } catch (RuntimeException e) {
+            log.warn("Calculating completeness of a malformed value as empty: {}", json, e);
+            return null;
+        }
+    }
+
+    protected record Row(Object key, @Nullable String json, @Nullable Number mask) {
+    }
+
+    protected record Chunk(int rows, int updated) {
+    }
+}
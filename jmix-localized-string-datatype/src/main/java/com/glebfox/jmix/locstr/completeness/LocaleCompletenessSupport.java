@@ -0,0 +1,267 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.completeness;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.locale.LocaleCatalog;
+import io.jmix.core.Metadata;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.EntitySavingEvent;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.querycondition.JpqlCondition;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains and queries locale completeness bitmasks of attributes annotated with
+ * {@link LocaleCompleteness}.
+ * <p>
+ * A bit of a locale is its index in the {@code jmix.core.available-locales} list provided by
+ * {@link LocaleCatalog}, so the masks must be {@link LocaleCompletenessBackfill recalculated}
+ * if the list is reordered.
+ * <p>
+ * A {@code NULL} mask, e.g. of a row created before the mask attribute was added and not yet
+ * backfilled, means that completeness is unknown. Such rows are treated as missing values
+ * of all locales.
+ */
+@Component("locstr_LocaleCompletenessSupport")
+public class LocaleCompletenessSupport {
+
+    /**
+     * Maximum number of locales for which "missing" conditions enumerate matching masks,
+     * which allows using an index of the mask column.
+     */
+    protected static final int MAX_ENUMERATED_LOCALES = 8;
+
+    protected final Metadata metadata;
+    protected final LocaleCatalog localeCatalog;
+
+    protected final Map<MetaClass, List<MaskProperty>> maskProperties = new ConcurrentHashMap<>();
+
+    public LocaleCompletenessSupport(Metadata metadata, LocaleCatalog localeCatalog) {
+        this.metadata = metadata;
+        this.localeCatalog = localeCatalog;
+    }
+
+    /**
+     * @return locales in the order of their bits
+     */
+    public List<Locale> getLocales() {
+        return localeCatalog.getLocales();
+    }
+
+    /**
+     * Returns a bit of the given locale.
+     *
+     * @param locale a locale
+     * @return the bit
+     * @throws IllegalArgumentException if the locale isn't available
+     */
+    public long getBit(Locale locale) {
+        int index = localeCatalog.getOrdinal(locale);
+        if (index < 0) {
+            throw new IllegalArgumentException("Locale is not available: " + locale);
+        }
+        return 1L << index;
+    }
+
+    /**
+     * Calculates a completeness bitmask of the given value.
+     *
+     * @param value a value
+     * @return the bitmask
+     */
+    public long getMask(@Nullable LocalizedString value) {
+        long mask = 0;
+        if (value != null) {
+            List<Locale> locales = getLocales();
+            for (int i = 0; i < locales.size(); i++) {
+                if (!value.getValue(locales.get(i)).isBlank()) {
+                    mask |= 1L << i;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Creates a condition selecting entities whose value of the attribute is blank for the
+     * given locale or whose mask is {@code NULL}. For example, products missing a German description:
+     * <pre>
+     * dataManager.load(Product.class)
+     *         .condition(completenessSupport.missing("descriptionCompleteness", Locale.GERMAN))
+     *         .list();
+     * </pre>
+     *
+     * @param maskAttribute a name of an attribute annotated with {@link LocaleCompleteness}
+     * @param locale        a locale
+     * @return the JPQL condition
+     */
+    public JpqlCondition missing(String maskAttribute, Locale locale) {
+        return createCondition(maskAttribute, locale, false);
+    }
+
+    /**
+     * Creates a condition selecting entities whose value of the attribute isn't blank for the
+     * given locale. Entities whose mask is {@code NULL} aren't selected.
+     *
+     * @param maskAttribute a name of an attribute annotated with {@link LocaleCompleteness}
+     * @param locale        a locale
+     * @return the JPQL condition
+     */
+    public JpqlCondition present(String maskAttribute, Locale locale) {
+        return createCondition(maskAttribute, locale, true);
+    }
+
+    protected JpqlCondition createCondition(String maskAttribute, Locale locale, boolean present) {
+        return JpqlCondition.create(createPredicate("{E}." + maskAttribute, locale, present));
+    }
+
+    /**
+     * Creates a JPQL predicate checking the bit of the given locale.
+     *
+     * @param maskPath a path to an attribute annotated with {@link LocaleCompleteness},
+     *                 e.g. {@code e.descriptionCompleteness}
+     * @param locale   a locale
+     * @param present  {@code true} to check that the value for the locale isn't blank,
+     *                 {@code false} to check that it's blank or the mask is {@code NULL}
+     * @return the JPQL predicate
+     */
+    public String createPredicate(String maskPath, Locale locale, boolean present) {
+        long bit = getBit(locale);
+
+        String predicate;
+        if (getLocales().size() <= MAX_ENUMERATED_LOCALES) {
+            // An IN list of literals can use an index of the mask column, unlike arithmetic
+            String masks = enumerateMasks(bit, present).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", "));
+            predicate = maskPath + " in (" + masks + ")";
+        } else {
+            // division of integers returns a decimal on some databases, e.g. Oracle and MySQL
+            predicate = "MOD(FLOOR(" + maskPath + " / " + bit + "), 2) = " + (present ? 1 : 0);
+        }
+
+        // comparisons with NULL are never true, so unknown completeness is checked explicitly
+        return present ? predicate : "(" + maskPath + " is null or " + predicate + ")";
+    }
+
+    protected List<Long> enumerateMasks(long bit, boolean present) {
+        List<Long> masks = new ArrayList<>();
+        for (long mask = 0; mask < 1L << getLocales().size(); mask++) {
+            if (((mask & bit) != 0) == present) {
+                masks.add(mask);
+            }
+        }
+        return masks;
+    }
+
+    @EventListener
+    public void onEntitySaving(final EntitySavingEvent<?> event) {
+        updateMasks(event.getEntity());
+    }
+
+    /**
+     * Updates all completeness bitmasks of the given entity.
+     *
+     * @param entity an entity instance
+     * @return {@code true} if some of the bitmasks was changed
+     */
+    public boolean updateMasks(Object entity) {
+        boolean changed = false;
+        for (MaskProperty maskProperty : getMaskProperties(metadata.getClass(entity))) {
+            LocalizedString value = EntityValues.getValue(entity, maskProperty.valueAttribute());
+            long mask = getMask(value);
+
+            Object maskValue = Long.class.equals(maskProperty.metaProperty().getJavaType())
+                    ? (Object) mask
+                    : (Object) (int) mask;
+            String maskAttribute = maskProperty.metaProperty().getName();
+            if (!maskValue.equals(EntityValues.getValue(entity, maskAttribute))) {
+                EntityValues.setValue(entity, maskAttribute, maskValue);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @param metaClass a meta-class of an entity
+     * @return {@code true} if the entity has attributes annotated with {@link LocaleCompleteness}
+     */
+    public boolean hasMasks(MetaClass metaClass) {
+        return !getMaskProperties(metaClass).isEmpty();
+    }
+
+    /**
+     * Returns an attribute that stores locale completeness of the given attribute.
+     *
+     * @param metaClass      a meta-class of an entity
+     * @param valueAttribute a name of a {@link LocalizedString} attribute
+     * @return a name of an attribute annotated with {@link LocaleCompleteness} or {@code null}
+     */
+    @Nullable
+    public String getMaskAttribute(MetaClass metaClass, String valueAttribute) {
+        return getMaskProperties(metaClass).stream()
+                .filter(maskProperty -> maskProperty.valueAttribute().equals(valueAttribute))
+                .map(maskProperty -> maskProperty.metaProperty().getName())
+                .findFirst()
+                .orElse(null);
+    }
+
+    protected List<MaskProperty> getMaskProperties(MetaClass metaClass) {
+        return maskProperties.computeIfAbsent(metaClass, this::resolveMaskProperties);
+    }
+
+    protected List<MaskProperty> resolveMaskProperties(MetaClass metaClass) {
+        List<MaskProperty> properties = new ArrayList<>();
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            AnnotatedElement annotatedElement = metaProperty.getAnnotatedElement();
+            LocaleCompleteness annotation = annotatedElement != null
+                    ? annotatedElement.getAnnotation(LocaleCompleteness.class)
+                    : null;
+            if (annotation == null) {
+                continue;
+            }
+
+            Class<?> javaType = metaProperty.getJavaType();
+            int maxLocales = Long.class.equals(javaType) ? Long.SIZE - 1 : Integer.SIZE - 1;
+            if (!Long.class.equals(javaType) && !Integer.class.equals(javaType)) {
+                throw new IllegalStateException(String.format("%s.%s annotated with @LocaleCompleteness " +
+                        "must be Integer or Long", metaClass.getName(), metaProperty.getName()));
+            }
+            int localeCount = getLocales().size();
+            if (localeCount > maxLocales) {
+                throw new IllegalStateException(String.format("%s.%s can't store completeness of %d locales",
+                        metaClass.getName(), metaProperty.getName(), localeCount));
+            }
+
+            properties.add(new MaskProperty(metaProperty, annotation.value()));
+        }
+        return properties;
+    }
+
+    protected record MaskProperty(MetaProperty metaProperty, String valueAttribute) {
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.component;
+
+import com.glebfox.jmix.locstr.metadata.LocalizedStringInstanceNames;
+import io.jmix.flowui.component.combobox.EntityComboBox;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Replaces {@link EntityComboBox} to generate item labels by {@link LocalizedStringInstanceNames},
+ * so items whose instance name is a {@link com.glebfox.jmix.locstr.datatype.LocalizedString}
+ * attribute are labeled without formatting the instance name through metadata on every render.
+ * An item label generator set explicitly replaces the default one.
+ *
+ * @param <V> entity type
+ */
+public class LocalizedStringEntityComboBox<V> extends EntityComboBox<V> {
+
+    protected ApplicationContext applicationContext;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        super.setApplicationContext(applicationContext);
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+
+        setItemLabelGenerator(applicationContext.getBean(LocalizedStringInstanceNames.class)
+                .createItemLabelGenerator());
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.component;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.locale.LocaleCatalog;
+import com.vaadin.flow.component.*;
+import com.vaadin.flow.component.dependency.JsModule;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.shared.Registration;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.flowui.data.BindingState;
+import io.jmix.flowui.data.SupportsValueSource;
+import io.jmix.flowui.data.ValueSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+
+/**
+ * A field that edits a {@link LocalizedString} value in place.
+ * <p>
+ * Values of all available locales are sent to the browser once and the displayed
+ * locale is switched entirely on the client side. When the user commits an input
+ * (e.g. the field loses focus), only values of edited locales are sent to the server.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * LocalizedStringField nameField = uiComponents.create(LocalizedStringField.class);
+ * nameField.setValueSource(new ContainerValueSource<>(productDc, "name"));
+ * form.add(nameField);
+ * }</pre>
+ */
+@Tag("localized-string-field")
+@JsModule("./src/locstr/localized-string-field.js")
+public class LocalizedStringField extends AbstractField<LocalizedStringField, LocalizedString>
+        implements HasLabel, HasSize, HasStyle, SupportsValueSource<LocalizedString>,
+        ApplicationContextAware, InitializingBean {
+
+    protected static final String VALUES_CHANGED_EVENT = "locstr-values-changed";
+    protected static final String DELTA_EVENT_DATA = "event.detail.delta";
+
+    protected ApplicationContext applicationContext;
+
+    protected Map<String, Locale> availableLocales = new HashMap<>();
+
+    protected ValueSource<LocalizedString> valueSource;
+    protected List<Registration> valueSourceRegistrations = new ArrayList<>();
+
+    public LocalizedStringField() {
+        super(null);
+
+        getElement().addEventListener(VALUES_CHANGED_EVENT, this::onValuesChanged)
+                .addEventData(DELTA_EVENT_DATA);
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        initLocales();
+    }
+
+    protected void initLocales() {
+        LocaleCatalog localeCatalog = applicationContext.getBean(LocaleCatalog.class);
+
+        JsonArray locales = Json.createArray();
+        for (Map.Entry<Locale, String> entry : localeCatalog.getDisplayNames().entrySet()) {
+            String tag = entry.getKey().toString();
+            availableLocales.put(tag, entry.getKey());
+
+            JsonObject localeObject = Json.createObject();
+            localeObject.put("tag", tag);
+            localeObject.put("label", entry.getValue());
+            locales.set(locales.length(), localeObject);
+        }
+        getElement().setPropertyJson("locales", locales);
+
+        // the user locale or the closest available one
+        CurrentAuthentication currentAuthentication = applicationContext.getBean(CurrentAuthentication.class);
+        List<Locale> candidates = currentAuthentication.isSet()
+                ? localeCatalog.getFallbackChain(currentAuthentication.getLocale())
+                : localeCatalog.getLocales();
+        if (!candidates.isEmpty()) {
+            setSelectedLocale(candidates.get(0));
+        }
+    }
+
+    /**
+     * Sets the locale whose value is initially displayed. The current user locale is
+     * displayed by default.
+     *
+     * @param locale a locale to display
+     * @apiNote subsequent locale switching is performed on the client side and
+     * isn't sent to the server
+     */
+    public void setSelectedLocale(Locale locale) {
+        getElement().setProperty("locale", locale.toString());
+    }
+
+    /**
+     * @return whether a multi-line text input component is used
+     */
+    public boolean isMultiline() {
+        return getElement().getProperty("multiline", false);
+    }
+
+    /**
+     * Sets whether to use a multi-line text input component. {@code false} by default.
+     *
+     * @param multiline {@code true} to use a multi-line text input component,
+     *                  {@code false} otherwise
+     */
+    public void setMultiline(boolean multiline) {
+        getElement().setProperty("multiline", multiline);
+    }
+
+    @Override
+    protected void setPresentationValue(@Nullable LocalizedString value) {
+        JsonObject values = Json.createObject();
+        if (value != null) {
+            for (Locale locale : value.getLocales()) {
+                values.put(locale.toString(), value.getValue(locale));
+            }
+        }
+
+        getElement().setPropertyJson("values", values);
+    }
+
+    protected void onValuesChanged(DomEvent event) {
+        if (isReadOnly()) {
+            return;
+        }
+
+        JsonObject delta = event.getEventData().getObject(DELTA_EVENT_DATA);
+        if (delta == null || delta.keys().length == 0) {
+            return;
+        }
+
+        LocalizedString oldValue = getValue();
+        Map<Locale, String> values = new HashMap<>();
+        if (oldValue != null) {
+            for (Locale locale : oldValue.getLocales()) {
+                values.put(locale, oldValue.getValue(locale));
+            }
+        }
+
+        for (String tag : delta.keys()) {
+            Locale locale = availableLocales.get(tag);
+            if (locale != null && delta.get(tag).getType() == JsonType.STRING) {
+                values.put(locale, delta.getString(tag));
+            }
+        }
+
+        setModelValue(new LocalizedString(values), true);
+    }
+
+    @Nullable
+    @Override
+    public ValueSource<LocalizedString> getValueSource() {
+        return valueSource;
+    }
+
+    @Override
+    public void setValueSource(@Nullable ValueSource<LocalizedString> valueSource) {
+        valueSourceRegistrations.forEach(Registration::remove);
+        valueSourceRegistrations.clear();
+
+        this.valueSource = valueSource;
+
+        if (valueSource != null) {
+            valueSourceRegistrations.add(valueSource.addValueChangeListener(event ->
+                    setValue(event.getValue())));
+            valueSourceRegistrations.add(valueSource.addStateChangeListener(event ->
+                    updateValueFromSource()));
+            valueSourceRegistrations.add(addValueChangeListener(event -> {
+                if (event.isFromClient()
+                        && this.valueSource != null
+                        && this.valueSource.getState() == BindingState.ACTIVE
+                        && !this.valueSource.isReadOnly()) {
+                    this.valueSource.setValue(event.getValue());
+                }
+            }));
+
+            updateValueFromSource();
+        }
+    }
+
+    protected void updateValueFromSource() {
+        if (valueSource == null) {
+            return;
+        }
+
+        if (valueSource.getState() == BindingState.ACTIVE) {
+            setValue(valueSource.getValue());
+            setReadOnly(valueSource.isReadOnly());
+        } else {
+            setValue(null);
+        }
+    }
+}
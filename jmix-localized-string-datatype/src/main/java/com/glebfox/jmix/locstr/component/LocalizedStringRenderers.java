@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.component;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.vaadin.flow.data.renderer.LitRenderer;
+import com.vaadin.flow.data.renderer.Renderer;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.security.CurrentAuthentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Creates renderers for grid columns bound to {@link LocalizedString} attributes.
+ * <p>
+ * The locale is resolved once when a renderer is created. Long values, e.g. of
+ * {@link jakarta.persistence.Lob} attributes, can be truncated to a preview, while the full
+ * value is shown in the item details row that is rendered on demand.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * @Supply(to = "productsDataGrid.description", subject = "renderer")
+ * private Renderer<Product> productsDataGridDescriptionRenderer() {
+ *     return localizedStringRenderers.createRenderer("description", 100);
+ * }
+ *
+ * @Subscribe
+ * public void onInit(final InitEvent event) {
+ *     productsDataGrid.setItemDetailsRenderer(localizedStringRenderers.createDetailsRenderer("description"));
+ * }
+ * }</pre>
+ */
+@Component("locstr_LocalizedStringRenderers")
+public class LocalizedStringRenderers {
+
+    protected final CurrentAuthentication currentAuthentication;
+
+    public LocalizedStringRenderers(CurrentAuthentication currentAuthentication) {
+        this.currentAuthentication = currentAuthentication;
+    }
+
+    /**
+     * Creates a renderer that displays values of the given property for the current user locale.
+     *
+     * @param property a path to a {@link LocalizedString} property
+     * @param <E>      item type
+     * @return a renderer
+     */
+    public <E> Renderer<E> createRenderer(String property) {
+        return createRenderer(property, 0);
+    }
+
+    /**
+     * Creates a renderer that displays values of the given property for the current user locale
+     * truncated to the given length.
+     *
+     * @param property  a path to a {@link LocalizedString} property
+     * @param maxLength a maximum length of displayed values. Non-positive value means no truncation
+     * @param <E>       item type
+     * @return a renderer
+     */
+    public <E> Renderer<E> createRenderer(String property, int maxLength) {
+        return createRenderer(createValueProvider(property, maxLength));
+    }
+
+    /**
+     * Creates a renderer for item details rows that displays full values of the given property
+     * for the current user locale. Values are sent to the client only for items whose details
+     * are visible.
+     *
+     * @param property a path to a {@link LocalizedString} property
+     * @param <E>      item type
+     * @return a renderer
+     */
+    public <E> Renderer<E> createDetailsRenderer(String property) {
+        return LitRenderer.<E>of("<div class=\"localized-string-details\" style=\"white-space: pre-wrap\">${item.value}</div>")
+                .withProperty("value", createValueProvider(property, 0));
+    }
+
+    /**
+     * Creates a renderer that displays values provided by the given value provider.
+     *
+     * @param valueProvider a value provider
+     * @param <E>           item type
+     * @return a renderer
+     */
+    public <E> Renderer<E> createRenderer(LocalizedStringValueProvider<E> valueProvider) {
+        return LitRenderer.<E>of("${item.value}")
+                .withProperty("value", valueProvider);
+    }
+
+    /**
+     * Creates a value provider that provides values of the given property for the current user
+     * locale.
+     *
+     * @param property  a path to a {@link LocalizedString} property
+     * @param maxLength a maximum length of provided values. Non-positive value means no truncation
+     * @param <E>       item type
+     * @return a value provider
+     */
+    public <E> LocalizedStringValueProvider<E> createValueProvider(String property, int maxLength) {
+        Locale locale = currentAuthentication.getLocale();
+        return new LocalizedStringValueProvider<>(item -> EntityValues.getValueEx(item, property), locale, maxLength);
+    }
+}
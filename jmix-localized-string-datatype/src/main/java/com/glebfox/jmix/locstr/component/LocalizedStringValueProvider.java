@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.component;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.vaadin.flow.function.ValueProvider;
+import org.springframework.lang.Nullable;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Provides values of a {@link LocalizedString} attribute for the given locale, e.g. for
+ * grid cells. A value is a lookup of the locale in the attribute value, so values are
+ * formatted on each call instead of being cached per item.
+ *
+ * @param <E> item type
+ * @see LocalizedStringRenderers
+ */
+public class LocalizedStringValueProvider<E> implements ValueProvider<E, String> {
+
+    protected final Function<E, LocalizedString> valueGetter;
+    protected final Locale locale;
+    protected final int maxLength;
+
+    /**
+     * @param valueGetter a function that returns a localized value of an item
+     * @param locale      a locale whose values are provided
+     * @param maxLength   a maximum length of provided values, longer values are truncated.
+     *                    Non-positive value means no truncation
+     */
+    public LocalizedStringValueProvider(Function<E, LocalizedString> valueGetter, Locale locale, int maxLength) {
+        this.valueGetter = valueGetter;
+        this.locale = locale;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public String apply(E item) {
+        return format(valueGetter.apply(item));
+    }
+
+    protected String format(@Nullable LocalizedString value) {
+        String formatted = value != null ? value.getValue(locale) : "";
+        if (maxLength > 0 && formatted.length() > maxLength) {
+            int end = maxLength;
+            if (Character.isHighSurrogate(formatted.charAt(end - 1))) {
+                end--;
+            }
+            return formatted.substring(0, end) + "…";
+        }
+
+        return formatted;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.coverage;
+
+import java.util.Locale;
+
+/**
+ * Translation coverage of a {@link com.glebfox.jmix.locstr.datatype.LocalizedString} attribute
+ * for a locale.
+ *
+ * @param attribute  an attribute name
+ * @param locale     a locale
+ * @param translated the number of entities with a translation for the locale
+ * @param total      the total number of entities
+ */
+public record TranslationCoverage(String attribute, Locale locale, long translated, long total) {
+
+    /**
+     * @return a share of translated entities from 0 to 1
+     */
+    public double getRatio() {
+        return total > 0 ? (double) translated / total : 1;
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.coverage;
+
+import com.glebfox.jmix.locstr.LocstrProperties;
+import com.glebfox.jmix.locstr.completeness.LocaleCompletenessSupport;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jmix.core.EntityStates;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.event.EntitySavingEvent;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.data.PersistenceTools;
+import io.jmix.data.PublishEntityChangedEvents;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calculates translation coverage of {@link LocalizedString} attributes with aggregate queries,
+ * so entities aren't loaded into memory.
+ * <p>
+ * If an attribute has a {@link com.glebfox.jmix.locstr.completeness.LocaleCompleteness} bitmask,
+ * the bitmask is used. Otherwise, the stored JSON is matched against locale keys, in which case
+ * values consisting of whitespaces are counted as translated.
+ * <p>
+ * Results are cached for {@code locstr.coverage-cache-ttl} and updated incrementally when entities
+ * are saved or removed, after the transaction is committed. Removed entities are reported by
+ * {@link EntityChangedEvent}, so results are cached only for entities annotated with
+ * {@link PublishEntityChangedEvents}. Coverage of other entities is calculated on each request.
+ */
+@Component("locstr_TranslationCoverageService")
+public class TranslationCoverageService {
+
+    protected final UnconstrainedDataManager dataManager;
+    protected final Metadata metadata;
+    protected final MetadataTools metadataTools;
+    protected final EntityStates entityStates;
+    protected final PersistenceTools persistenceTools;
+    protected final LocaleCompletenessSupport completenessSupport;
+
+    protected final Cache<MetaClass, CoverageCounters> cache;
+    protected final Map<MetaClass, List<String>> localizedStringProperties = new ConcurrentHashMap<>();
+
+    public TranslationCoverageService(UnconstrainedDataManager dataManager,
+                                      Metadata metadata,
+                                      MetadataTools metadataTools,
+                                      EntityStates entityStates,
+                                      PersistenceTools persistenceTools,
+                                      LocaleCompletenessSupport completenessSupport,
+                                      LocstrProperties properties) {
+        this.dataManager = dataManager;
+        this.metadata = metadata;
+        this.metadataTools = metadataTools;
+        this.entityStates = entityStates;
+        this.persistenceTools = persistenceTools;
+        this.completenessSupport = completenessSupport;
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(properties.getCoverageCacheTtl())
+                .build();
+    }
+
+    /**
+     * @return JPA entities having persistent {@link LocalizedString} attributes
+     */
+    public List<MetaClass> getEntities() {
+        return metadata.getSession().getClasses().stream()
+                .filter(metadataTools::isJpaEntity)
+                .filter(metaClass -> !getLocalizedStringProperties(metaClass).isEmpty())
+                .sorted(Comparator.comparing(MetaClass::getName))
+                .toList();
+    }
+
+    /**
+     * @return locales for which coverage is calculated
+     */
+    public List<Locale> getLocales() {
+        return completenessSupport.getLocales();
+    }
+
+    /**
+     * Returns translation coverage of all {@link LocalizedString} attributes of the given entity.
+     *
+     * @param metaClass a meta-class of an entity
+     * @return coverage per attribute and locale
+     */
+    public List<TranslationCoverage> getCoverage(MetaClass metaClass) {
+        if (!isPublishingChanges(metaClass)) {
+            // cached counters would never be decreased on removal
+            return calculate(metaClass).toCoverage();
+        }
+
+        try {
+            return cache.get(metaClass, () -> calculate(metaClass)).toCoverage();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Unable to calculate translation coverage of " + metaClass.getName(),
+                    e.getCause());
+        }
+    }
+
+    /**
+     * Discards cached coverage of the given entity, so it's recalculated on the next request.
+     *
+     * @param metaClass a meta-class of an entity
+     */
+    public void refresh(MetaClass metaClass) {
+        cache.invalidate(metaClass);
+    }
+
+    protected CoverageCounters calculate(MetaClass metaClass) {
+        List<String> attributes = getLocalizedStringProperties(metaClass);
+        List<Locale> locales = getLocales();
+
+        // All attributes and locales are aggregated in a single table scan
+        List<String> aggregates = new ArrayList<>();
+        List<String> properties = new ArrayList<>();
+        aggregates.add("count(e)");
+        properties.add("total");
+        for (int a = 0; a < attributes.size(); a++) {
+            for (int l = 0; l < locales.size(); l++) {
+                aggregates.add("sum(case when " + createPredicate(metaClass, attributes.get(a), locales.get(l))
+                        + " then 1 else 0 end)");
+                properties.add("c" + a + "_" + l);
+            }
+        }
+
+        String query = "select " + String.join(", ", aggregates) + " from " + metaClass.getName() + " e";
+        KeyValueEntity result = dataManager.loadValues(query)
+                .properties(properties)
+                .one();
+
+        CoverageCounters counters = new CoverageCounters(toLong(result.getValue("total")));
+        for (int a = 0; a < attributes.size(); a++) {
+            for (int l = 0; l < locales.size(); l++) {
+                counters.add(attributes.get(a), locales.get(l), toLong(result.getValue("c" + a + "_" + l)));
+            }
+        }
+        return counters;
+    }
+
+    protected String createPredicate(MetaClass metaClass, String attribute, Locale locale) {
+        String maskAttribute = completenessSupport.getMaskAttribute(metaClass, attribute);
+        if (maskAttribute != null) {
+            return completenessSupport.createPredicate("e." + maskAttribute, locale, true);
+        }
+
+        // LocalizedString is stored as compact JSON object with locale keys, e.g. {"en":"Value"}
+        String key = "%\"" + escapeLike(locale.toString()) + "\":";
+        return "(e." + attribute + " like '" + key + "%' escape '\\'"
+                + " and e." + attribute + " not like '" + key + "\"\"%' escape '\\')";
+    }
+
+    protected String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_")
+                .replace("'", "''");
+    }
+
+    protected long toLong(@Nullable Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    @EventListener
+    public void onEntitySaving(final EntitySavingEvent<?> event) {
+        Object entity = event.getEntity();
+        MetaClass metaClass = metadata.getClass(entity);
+        CoverageCounters counters = cache.getIfPresent(metaClass);
+        if (counters == null) {
+            return;
+        }
+
+        boolean isNew = entityStates.isNew(entity);
+        CoverageDelta delta = new CoverageDelta(metaClass, isNew ? 1 : 0);
+        for (String attribute : getLocalizedStringProperties(metaClass)) {
+            LocalizedString value = EntityValues.getValue(entity, attribute);
+            if (isNew) {
+                delta.add(attribute, null, value);
+            } else if (persistenceTools.isDirty(entity, attribute)) {
+                delta.add(attribute, persistenceTools.getOldValue(entity, attribute), value);
+            }
+        }
+        applyAfterCommit(metaClass, counters, delta);
+    }
+
+    @EventListener
+    public void onEntityChanged(final EntityChangedEvent<?> event) {
+        if (event.getType() != EntityChangedEvent.Type.DELETED) {
+            return;
+        }
+
+        MetaClass metaClass = metadata.getClass(event.getEntityId().getEntityClass());
+        CoverageCounters counters = cache.getIfPresent(metaClass);
+        if (counters == null) {
+            return;
+        }
+
+        CoverageDelta delta = new CoverageDelta(metaClass, -1);
+        for (String attribute : getLocalizedStringProperties(metaClass)) {
+            delta.add(attribute, event.getChanges().getOldValue(attribute), null);
+        }
+        applyAfterCommit(metaClass, counters, delta);
+    }
+
+    protected void applyAfterCommit(MetaClass metaClass, CoverageCounters counters, CoverageDelta delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(metaClass);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counters.apply(delta);
+            }
+        });
+    }
+
+    protected boolean isPublishingChanges(MetaClass metaClass) {
+        PublishEntityChangedEvents annotation = metaClass.getJavaClass().getAnnotation(PublishEntityChangedEvents.class);
+        return annotation != null && annotation.deleted();
+    }
+
+    protected List<String> getLocalizedStringProperties(MetaClass metaClass) {
+        return localizedStringProperties.computeIfAbsent(metaClass, __ ->
+                metaClass.getProperties().stream()
+                        .filter(metaProperty -> metaProperty.getRange().isDatatype()
+                                && LocalizedString.class.equals(metaProperty.getRange().asDatatype().getJavaClass()))
+                        .filter(metadataTools::isJpa)
+                        .map(MetaProperty::getName)
+                        .toList());
+    }
+
+    /**
+     * Checks a value in the same way as {@link #createPredicate(MetaClass, String, Locale)}, so incremental
+     * updates don't diverge from calculated counters.
+     */
+    protected boolean isTranslated(MetaClass metaClass, String attribute,
+                                   @Nullable LocalizedString value, Locale locale) {
+        if (value == null) {
+            return false;
+        }
+        // bitmasks ignore blank values, while stored JSON can only be matched against empty ones
+        return completenessSupport.getMaskAttribute(metaClass, attribute) != null
+                ? !value.getValue(locale).isBlank()
+                : !value.getValue(locale).isEmpty();
+    }
+
+    /**
+     * Mutable coverage counters of an entity.
+     */
+    protected static class CoverageCounters {
+
+        protected final AtomicLong total;
+        protected final Map<String, Map<Locale, AtomicLong>> translated = new LinkedHashMap<>();
+
+        protected CoverageCounters(long total) {
+            this.total = new AtomicLong(total);
+        }
+
+        protected void add(String attribute, Locale locale, long count) {
+            translated.computeIfAbsent(attribute, __ -> new LinkedHashMap<>())
+                    .put(locale, new AtomicLong(count));
+        }
+
+        protected void apply(CoverageDelta delta) {
+            total.addAndGet(delta.total);
+            delta.translated.forEach((attribute, localeDeltas) -> {
+                Map<Locale, AtomicLong> counters = translated.get(attribute);
+                if (counters != null) {
+                    localeDeltas.forEach((locale, value) -> {
+                        AtomicLong counter = counters.get(locale);
+                        if (counter != null) {
+                            counter.addAndGet(value);
+                        }
+                    });
+                }
+            });
+        }
+
+        protected List<TranslationCoverage> toCoverage() {
+            long totalValue = total.get();
+            List<TranslationCoverage> coverage = new ArrayList<>();
+            translated.forEach((attribute, counters) ->
+                    counters.forEach((locale, counter) ->
+                            coverage.add(new TranslationCoverage(attribute, locale, counter.get(), totalValue))));
+            return coverage;
+        }
+    }
+
+    /**
+     * Changes of coverage counters made by a single entity.
+     */
+    protected class CoverageDelta {
+
+        protected final MetaClass metaClass;
+        protected final long total;
+        protected final Map<String, Map<Locale, Long>> translated = new HashMap<>();
+
+        protected CoverageDelta(MetaClass metaClass, long total) {
+            this.metaClass = metaClass;
+            this.total = total;
+        }
+
+        protected void add(String attribute, @Nullable LocalizedString oldValue, @Nullable LocalizedString newValue) {
+            for (Locale locale : getLocales()) {
+                int change = (isTranslated(metaClass, attribute, newValue, locale) ? 1 : 0)
+                        - (isTranslated(metaClass, attribute, oldValue, locale) ? 1 : 0);
+                if (change != 0) {
+                    translated.computeIfAbsent(attribute, __ -> new HashMap<>())
+                            .merge(locale, (long) change, Long::sum);
+                }
+            }
+        }
+    }
+}
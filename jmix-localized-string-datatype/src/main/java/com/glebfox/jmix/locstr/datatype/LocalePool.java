@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.datatype;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pool of canonical {@link Locale} instances used as keys of {@link LocalizedString} values.
+ * <p>
+ * Decoded values share locale instances, so they don't occupy memory per value and map lookups
+ * by canonical instances succeed on the identity check. Registered locales, which are the
+ * available locales registered by {@link com.glebfox.jmix.locstr.locale.LocaleCatalog}, are
+ * resolved by a single lookup. Other locales are
+ * parsed once and pooled up to {@link #MAX_PARSED_LOCALES}.
+ */
+public final class LocalePool {
+
+    /**
+     * Maximum number of pooled locales that aren't registered. Protects the pool from
+     * growing on unexpected data.
+     */
+    public static final int MAX_PARSED_LOCALES = 1024;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static volatile Map<String, Locale> registeredTags = Map.of();
+    private static volatile Map<Locale, Locale> registeredLocales = Map.of();
+
+    private static final Map<String, Locale> parsedTags = new ConcurrentHashMap<>();
+
+    private LocalePool() {
+    }
+
+    /**
+     * Registers canonical instances of the given locales.
+     *
+     * @param locales locales to register
+     */
+    public static synchronized void register(Collection<Locale> locales) {
+        Map<String, Locale> tags = new HashMap<>(registeredTags);
+        Map<Locale, Locale> instances = new HashMap<>(registeredLocales);
+        for (Locale locale : locales) {
+            Locale canonical = instances.computeIfAbsent(locale, __ -> locale);
+            tags.put(canonical.toString(), canonical);
+        }
+        registeredTags = Map.copyOf(tags);
+        registeredLocales = Map.copyOf(instances);
+    }
+
+    /**
+     * Returns a canonical locale for a string produced by {@link Locale#toString()}, which is
+     * the form of locale keys in the JSON representation of {@link LocalizedString}.
+     *
+     * @param tag a locale string
+     * @return the canonical locale
+     */
+    public static Locale get(String tag) {
+        Locale locale = registeredTags.get(tag);
+        if (locale != null) {
+            return locale;
+        }
+
+        locale = parsedTags.get(tag);
+        if (locale == null) {
+            locale = canonical(parse(tag));
+            if (parsedTags.size() < MAX_PARSED_LOCALES) {
+                Locale existing = parsedTags.putIfAbsent(tag, locale);
+                if (existing != null) {
+                    locale = existing;
+                }
+            }
+        }
+        return locale;
+    }
+
+    /**
+     * Returns a registered instance equal to the given locale.
+     *
+     * @param locale a locale
+     * @return the registered instance or the given locale if it isn't registered
+     */
+    public static Locale canonical(Locale locale) {
+        Locale registered = registeredLocales.get(locale);
+        return registered != null ? registered : locale;
+    }
+
+    private static Locale parse(String tag) {
+        // the same parsing as Jackson applies to Locale map keys
+        return MAPPER.convertValue(tag, Locale.class);
+    }
+}
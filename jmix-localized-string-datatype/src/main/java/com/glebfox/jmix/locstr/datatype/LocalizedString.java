@@ -16,19 +16,37 @@
 
 package com.glebfox.jmix.locstr.datatype;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.lang.Nullable;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.Serial;
 import java.io.Serializable;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class LocalizedString implements Serializable {
 
-    private static final TypeReference<HashMap<Locale, String>> TYPE_REFERENCE = new TypeReference<>() {
-    };
+    // the value of the default serialization form, which is still readable
+    @Serial
+    private static final long serialVersionUID = 651899178377162813L;
+
+    // thread-safe and reuses buffers between parsers and generators
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     private final Map<Locale, String> values;
 
@@ -36,23 +54,64 @@ public class LocalizedString implements Serializable {
         this.values = new HashMap<>(values);
     }
 
+    private LocalizedString(HashMap<Locale, String> values, @SuppressWarnings("unused") boolean owned) {
+        this.values = values;
+    }
+
     public String getValue(Locale locale) {
         return values.getOrDefault(locale, "");
     }
 
+    public Set<Locale> getLocales() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
     public String toJson() {
-        try {
-            return new ObjectMapper().writeValueAsString(values);
-        } catch (JsonProcessingException e) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartObject();
+            for (Map.Entry<Locale, String> entry : values.entrySet()) {
+                generator.writeFieldName(entry.getKey().toString());
+                generator.writeString(entry.getValue());
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
             throw new RuntimeException("Cannot convert to Json", e);
         }
+        return writer.toString();
     }
 
     public static LocalizedString fromJson(String json) {
-        try {
-            Map<Locale, String> values = new ObjectMapper().readValue(json, TYPE_REFERENCE);
-            return new LocalizedString(values);
-        } catch (JsonProcessingException e) {
+        return fromJson(json, null);
+    }
+
+    /**
+     * Decodes a value from the JSON form, replacing decoded texts with pooled instances of the given interner.
+     *
+     * @param json     the JSON form
+     * @param interner an interner of decoded texts or {@code null} to keep them as is
+     * @return the decoded value
+     */
+    public static LocalizedString fromJson(String json, @Nullable LocalizedStringInterner interner) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Json object expected");
+            }
+
+            HashMap<Locale, String> values = new HashMap<>();
+            String key;
+            while ((key = parser.nextFieldName()) != null) {
+                Locale locale = LocalePool.get(key);
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_STRING) {
+                    String value = parser.getText();
+                    values.put(locale, interner != null ? interner.intern(value) : value);
+                } else if (token != JsonToken.VALUE_NULL) {
+                    throw new JsonParseException(parser, "String value expected for " + key);
+                }
+            }
+            return new LocalizedString(values, true);
+        } catch (IOException e) {
             throw new RuntimeException("Cannot convert from Json", e);
         }
     }
@@ -75,4 +134,111 @@ public class LocalizedString implements Serializable {
     public String toString() {
         return toJson();
     }
+
+    /**
+     * Replaces the instance with {@link SerializedForm} that writes locale strings and UTF-8 values
+     * instead of {@link Locale} object graphs.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        // instances serialized before the compact form was introduced
+        in.defaultReadObject();
+        if (values == null) {
+            throw new InvalidObjectException("Localized values are missing");
+        }
+    }
+
+    /**
+     * Compact serialization form of {@link LocalizedString}: a version, the number of locales and
+     * pairs of locales and values, where lengths are variable-length integers. Locales are written
+     * by {@link Locale#toString()} as keys of the JSON form, since not all of them are valid
+     * language tags.
+     */
+    private static final class SerializedForm implements Externalizable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private static final int VERSION = 1;
+
+        private LocalizedString value;
+
+        public SerializedForm() {
+        }
+
+        private SerializedForm(LocalizedString value) {
+            this.value = value;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(VERSION);
+            writeVarInt(out, value.values.size());
+            for (Map.Entry<Locale, String> entry : value.values.entrySet()) {
+                writeString(out, entry.getKey().toString());
+                writeString(out, entry.getValue());
+            }
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new InvalidObjectException("Unsupported serialization version: " + version);
+            }
+
+            int size = readVarInt(in);
+            HashMap<Locale, String> values = new HashMap<>(Math.max(4, (int) (size / 0.75f) + 1));
+            for (int i = 0; i < size; i++) {
+                Locale locale = LocalePool.get(readString(in));
+                values.put(locale, readString(in));
+            }
+            value = new LocalizedString(values, true);
+        }
+
+        @Serial
+        private Object readResolve() {
+            return value;
+        }
+
+        private static void writeString(ObjectOutput out, String string) throws IOException {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(ObjectInput in) throws IOException {
+            byte[] bytes = new byte[readVarInt(in)];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static void writeVarInt(ObjectOutput out, int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+
+        private static int readVarInt(ObjectInput in) throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    if (value < 0) {
+                        throw new InvalidObjectException("Invalid length: " + value);
+                    }
+                    return value;
+                }
+            }
+            throw new InvalidObjectException("Malformed variable-length integer");
+        }
+    }
 }
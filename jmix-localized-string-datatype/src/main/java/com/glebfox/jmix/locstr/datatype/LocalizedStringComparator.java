@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.datatype;
+
+import org.springframework.lang.Nullable;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compares {@link LocalizedString} values by their values for the given locale using
+ * the locale-specific {@link Collator}. {@code null} values are ordered first.
+ * <p>
+ * To sort many items, use {@link #sort(List, Function, boolean)}, which calculates
+ * the {@link CollationKey} of each value once per sorting.
+ */
+public class LocalizedStringComparator implements Comparator<LocalizedString> {
+
+    protected final Locale locale;
+    protected final Collator collator;
+
+    public LocalizedStringComparator(Locale locale) {
+        this(locale, Collator.getInstance(locale));
+    }
+
+    public LocalizedStringComparator(Locale locale, Collator collator) {
+        this.locale = locale;
+        this.collator = collator;
+    }
+
+    /**
+     * @return a locale whose values are compared
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public int compare(@Nullable LocalizedString o1, @Nullable LocalizedString o2) {
+        if (o1 == o2) {
+            return 0;
+        } else if (o1 == null) {
+            return -1;
+        } else if (o2 == null) {
+            return 1;
+        }
+
+        return collator.compare(o1.getValue(locale), o2.getValue(locale));
+    }
+
+    /**
+     * Returns the collation key of the given value for the comparator locale.
+     *
+     * @param value a value to get the collation key of
+     * @return the collation key
+     */
+    public CollationKey getCollationKey(LocalizedString value) {
+        return collator.getCollationKey(value.getValue(locale));
+    }
+
+    /**
+     * Sorts the given items by their {@link LocalizedString} values. The collation key of each
+     * value is calculated once, then the (key, item) pairs are sorted and written back to the list.
+     *
+     * @param items          items to sort
+     * @param valueExtractor a function that returns the value of an item
+     * @param descending     whether to sort in descending order
+     * @param <T>            item type
+     */
+    public <T> void sort(List<T> items, Function<? super T, LocalizedString> valueExtractor, boolean descending) {
+        List<Map.Entry<CollationKey, T>> entries = new ArrayList<>(items.size());
+        for (T item : items) {
+            LocalizedString value = valueExtractor.apply(item);
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(value != null ? getCollationKey(value) : null, item));
+        }
+
+        Comparator<Map.Entry<CollationKey, T>> comparator =
+                Map.Entry.comparingByKey(Comparator.nullsFirst(Comparator.naturalOrder()));
+        entries.sort(descending ? comparator.reversed() : comparator);
+
+        for (int i = 0; i < entries.size(); i++) {
+            items.set(i, entries.get(i).getValue());
+        }
+    }
+}
@@ -23,19 +23,111 @@ import org.springframework.lang.Nullable;
 @Converter(autoApply = true)
 public class LocalizedStringConverter implements AttributeConverter<LocalizedString, String> {
 
+    @Nullable
+    private static volatile LocalizedStringInterner defaultInterner;
+
+    @Nullable
+    protected final LocalizedStringInterner interner;
+
+    /**
+     * Creates a converter used by the persistence provider. It interns decoded values by
+     * the interner set by {@link #setDefaultInterner(LocalizedStringInterner)}.
+     */
+    public LocalizedStringConverter() {
+        this(null);
+    }
+
+    public LocalizedStringConverter(@Nullable LocalizedStringInterner interner) {
+        this.interner = interner;
+    }
+
+    /**
+     * Sets the interner of converters created by the persistence provider, which instantiates
+     * them by the default constructor, so the interner can't be passed to them as a dependency.
+     * <p>
+     * The interner is held in a static field, so it's shared by all application contexts loaded
+     * by the same class loader, e.g. by Spring test contexts cached in one JVM: the context started
+     * last replaces the interner of the others.
+     *
+     * @param interner an interner or {@code null} to disable interning
+     */
+    public static synchronized void setDefaultInterner(@Nullable LocalizedStringInterner interner) {
+        defaultInterner = interner;
+    }
+
+    /**
+     * Disables interning by converters created by the persistence provider if the given interner
+     * is set as the default one, so that a closed application context doesn't leave its interner
+     * in use.
+     *
+     * @param interner an interner previously passed to {@link #setDefaultInterner(LocalizedStringInterner)}
+     */
+    public static synchronized void resetDefaultInterner(LocalizedStringInterner interner) {
+        if (defaultInterner == interner) {
+            defaultInterner = null;
+        }
+    }
+
     @Nullable
     @Override
     public String convertToDatabaseColumn(@Nullable LocalizedString localizedString) {
-        return localizedString != null
-                ? localizedString.toJson()
-                : null;
+        if (localizedString == null) {
+            return null;
+        }
+
+        LocalizedStringEncodeEvent event = new LocalizedStringEncodeEvent();
+        event.begin();
+
+        String json = localizedString.toJson();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.bytes = utf8Length(json);
+            event.locales = localizedString.getLocales().size();
+            event.commit();
+        }
+
+        return json;
     }
 
     @Nullable
     @Override
     public LocalizedString convertToEntityAttribute(@Nullable String dbData) {
-        return dbData != null
-                ? LocalizedString.fromJson(dbData)
-                : null;
+        if (dbData == null) {
+            return null;
+        }
+
+        LocalizedStringDecodeEvent event = new LocalizedStringDecodeEvent();
+        event.begin();
+
+        LocalizedString localizedString = LocalizedString.fromJson(dbData,
+                interner != null ? interner : defaultInterner);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.bytes = utf8Length(dbData);
+            event.locales = localizedString.getLocales().size();
+            event.commit();
+        }
+
+        return localizedString;
+    }
+
+    protected static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                length++;
+            } else if (ch < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(ch)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
     }
 }
@@ -62,6 +62,6 @@ public class LocalizedStringDatatype implements Datatype<LocalizedString> {
             return null;
         }
 
-        return new LocalizedString(ImmutableMap.of(locale, value));
+        return new LocalizedString(ImmutableMap.of(LocalePool.canonical(locale), value));
     }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.datatype;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event emitted when a {@link LocalizedString} is converted
+ * into its database column representation by {@link LocalizedStringConverter}.
+ * <p>
+ * Records the number of locales of the value and the UTF-8 size of the produced JSON.
+ * Like decoding, it's recorded only if it takes longer than 1 ms by default.
+ */
+@Name("com.glebfox.jmix.locstr.LocalizedStringEncode")
+@Label("LocalizedString Encode")
+@Description("Conversion of a LocalizedString to a database column value")
+@Category({"Jmix", "LocalizedString"})
+@Threshold("1 ms")
+@StackTrace(false)
+class LocalizedStringEncodeEvent extends Event {
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Locales")
+    int locales;
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.datatype;
+
+import com.glebfox.jmix.locstr.LocstrProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional pool of short values of decoded {@link LocalizedString}s, so that repeated texts like
+ * "Black" or "Size M" share one {@link String} instance across entities. Enabled by the
+ * {@code locstr.value-interning-enabled} application property.
+ * <p>
+ * The pool is a fixed-size table of weak references: a value replaces the previous value in its
+ * slot, so the pool never grows and never keeps values that aren't used elsewhere. Lookups are
+ * lock-free; concurrent updates of the same slot may lose an entry, which only reduces the hit rate.
+ * <p>
+ * The interner is passed to {@link LocalizedString#fromJson(String, LocalizedStringInterner)} by
+ * {@link LocalizedStringConverter}. Its statistics are published as {@code locstr.interner.*} meters
+ * if Micrometer metrics are enabled in the application.
+ */
+@Component("locstr_LocalizedStringInterner")
+public class LocalizedStringInterner implements InitializingBean, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalizedStringInterner.class);
+
+    protected final LocstrProperties properties;
+
+    protected AtomicReferenceArray<WeakReference<String>> table;
+    protected int mask;
+    protected int maxLength;
+
+    protected final LongAdder hits = new LongAdder();
+    protected final LongAdder misses = new LongAdder();
+    protected final LongAdder evictions = new LongAdder();
+
+    public LocalizedStringInterner(LocstrProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isValueInterningEnabled()) {
+            return;
+        }
+
+        // round up to a power of two, so a slot is selected by a bit mask
+        int size = Math.max(16, Integer.highestOneBit(Math.max(1, properties.getValueInterningTableSize() - 1)) << 1);
+        table = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+        maxLength = properties.getValueInterningMaxLength();
+
+        log.info("Interning of localized values up to {} characters enabled, table size: {}", maxLength, size);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("locstr.interner.hits", hits, LongAdder::sum)
+                .description("Values replaced with pooled instances")
+                .register(registry);
+        FunctionCounter.builder("locstr.interner.misses", misses, LongAdder::sum)
+                .description("Values not found in the pool")
+                .register(registry);
+        FunctionCounter.builder("locstr.interner.evictions", evictions, LongAdder::sum)
+                .description("Pooled values replaced with other values")
+                .register(registry);
+        Gauge.builder("locstr.interner.size", this, interner -> interner.getStats().size())
+                .description("Pooled values that are still reachable")
+                .register(registry);
+    }
+
+    /**
+     * Returns a pooled instance equal to the given value if interning is enabled and
+     * the value is short enough.
+     *
+     * @param value a decoded value
+     * @return a pooled instance or the given value
+     */
+    public String intern(String value) {
+        if (table == null || value.length() > maxLength) {
+            return value;
+        }
+
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        WeakReference<String> reference = table.get(index);
+        String pooled = reference != null ? reference.get() : null;
+        if (value.equals(pooled)) {
+            hits.increment();
+            return pooled;
+        }
+
+        misses.increment();
+        if (pooled != null) {
+            evictions.increment();
+        }
+        table.set(index, new WeakReference<>(value));
+        return value;
+    }
+
+    /**
+     * @return {@code true} if interning is enabled
+     */
+    public boolean isEnabled() {
+        return table != null;
+    }
+
+    /**
+     * @return current statistics of the pool
+     */
+    public Stats getStats() {
+        int size = 0;
+        if (table != null) {
+            for (int i = 0; i < table.length(); i++) {
+                WeakReference<String> reference = table.get(i);
+                if (reference != null && reference.get() != null) {
+                    size++;
+                }
+            }
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    /**
+     * Statistics of the pool.
+     *
+     * @param hits      the number of values replaced with pooled instances
+     * @param misses    the number of values not found in the pool
+     * @param evictions the number of pooled values replaced with other values
+     * @param size      the number of pooled values that are still reachable
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+        /**
+         * @return a share of hits from 0 to 1
+         */
+        public double getHitRate() {
+            long total = hits + misses;
+            return total > 0 ? (double) hits / total : 0;
+        }
+    }
+}
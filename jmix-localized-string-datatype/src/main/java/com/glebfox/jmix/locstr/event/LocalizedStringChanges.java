@@ -0,0 +1,202 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.event;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import io.jmix.core.EntityStates;
+import io.jmix.core.Id;
+import io.jmix.core.Metadata;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.AttributeChanges;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.event.EntitySavingEvent;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.data.PersistenceTools;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks locales of {@link LocalizedString} attributes changed in the current transaction.
+ * <p>
+ * Changed locales are calculated when entities are saved and kept until the transaction
+ * is completed, so they are available in {@link EntityChangedEvent} listeners, both before
+ * and after commit. For example:
+ * <pre>
+ * &#64;TransactionalEventListener
+ * public void onProductChangedAfterCommit(final EntityChangedEvent&lt;Product&gt; event) {
+ *     Set&lt;Locale&gt; locales = localizedStringChanges.getChangedLocales(event, "name");
+ *     if (locales == null) {
+ *         searchIndex.reindex(event.getEntityId());
+ *     } else {
+ *         locales.forEach(locale -&gt; searchIndex.reindex(event.getEntityId(), locale));
+ *     }
+ * }
+ * </pre>
+ */
+@Component("locstr_LocalizedStringChanges")
+public class LocalizedStringChanges {
+
+    protected static final String RESOURCE_KEY = LocalizedStringChanges.class.getName() + ".changedLocales";
+
+    protected final Metadata metadata;
+    protected final EntityStates entityStates;
+    protected final PersistenceTools persistenceTools;
+
+    protected final Map<MetaClass, List<String>> localizedStringProperties = new ConcurrentHashMap<>();
+
+    public LocalizedStringChanges(Metadata metadata,
+                                  EntityStates entityStates,
+                                  PersistenceTools persistenceTools) {
+        this.metadata = metadata;
+        this.entityStates = entityStates;
+        this.persistenceTools = persistenceTools;
+    }
+
+    /**
+     * Returns locales whose values of the given attribute were added, changed or removed.
+     *
+     * @param event     an entity changed event
+     * @param attribute a name of a {@link LocalizedString} attribute
+     * @return changed locales or {@code null} if they are unknown, e.g. the entity was saved
+     * without a transaction synchronization
+     */
+    @Nullable
+    public Set<Locale> getChangedLocales(EntityChangedEvent<?> event, String attribute) {
+        AttributeChanges changes = event.getChanges();
+        if (!changes.isChanged(attribute)) {
+            return Collections.emptySet();
+        }
+
+        if (event.getType() == EntityChangedEvent.Type.DELETED) {
+            LocalizedString oldValue = changes.getOldValue(attribute);
+            return oldValue != null ? oldValue.getLocales() : Collections.emptySet();
+        }
+
+        Map<Id<?>, Map<String, Set<Locale>>> changedLocales = getTransactionChanges();
+        if (changedLocales == null) {
+            return null;
+        }
+
+        Map<String, Set<Locale>> entityChanges = changedLocales.get(event.getEntityId());
+        Set<Locale> locales = entityChanges != null ? entityChanges.get(attribute) : null;
+        return locales != null ? Collections.unmodifiableSet(locales) : null;
+    }
+
+    @EventListener
+    public void onEntitySaving(final EntitySavingEvent<?> event) {
+        Object entity = event.getEntity();
+        List<String> properties = getLocalizedStringProperties(metadata.getClass(entity));
+        if (properties.isEmpty()
+                || EntityValues.getId(entity) == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        boolean isNew = entityStates.isNew(entity);
+        Map<String, Set<Locale>> entityChanges = null;
+        for (String property : properties) {
+            LocalizedString value = EntityValues.getValue(entity, property);
+
+            Set<Locale> locales;
+            if (isNew) {
+                locales = value != null ? value.getLocales() : Collections.emptySet();
+            } else if (persistenceTools.isDirty(entity, property)) {
+                locales = getChangedLocales(persistenceTools.getOldValue(entity, property), value);
+            } else {
+                continue;
+            }
+
+            if (entityChanges == null) {
+                entityChanges = getOrCreateTransactionChanges()
+                        .computeIfAbsent(Id.of(entity), __ -> new HashMap<>());
+            }
+            entityChanges.computeIfAbsent(property, __ -> new HashSet<>()).addAll(locales);
+        }
+    }
+
+    /**
+     * Compares values per locale.
+     *
+     * @param oldValue an old value
+     * @param newValue a new value
+     * @return locales whose values were added, changed or removed
+     */
+    public static Set<Locale> getChangedLocales(@Nullable LocalizedString oldValue,
+                                                @Nullable LocalizedString newValue) {
+        Set<Locale> oldLocales = oldValue != null ? oldValue.getLocales() : Collections.emptySet();
+        Set<Locale> newLocales = newValue != null ? newValue.getLocales() : Collections.emptySet();
+
+        Set<Locale> changed = new HashSet<>();
+        for (Locale locale : oldLocales) {
+            if (!newLocales.contains(locale)
+                    || !Objects.equals(oldValue.getValue(locale), newValue.getValue(locale))) {
+                changed.add(locale);
+            }
+        }
+        for (Locale locale : newLocales) {
+            if (!oldLocales.contains(locale)) {
+                changed.add(locale);
+            }
+        }
+        return changed;
+    }
+
+    protected List<String> getLocalizedStringProperties(MetaClass metaClass) {
+        return localizedStringProperties.computeIfAbsent(metaClass, __ ->
+                metaClass.getProperties().stream()
+                        .filter(metaProperty -> metaProperty.getRange().isDatatype()
+                                && LocalizedString.class.equals(metaProperty.getRange().asDatatype().getJavaClass()))
+                        .map(MetaProperty::getName)
+                        .toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    protected Map<Id<?>, Map<String, Set<Locale>>> getTransactionChanges() {
+        return (Map<Id<?>, Map<String, Set<Locale>>>) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+    }
+
+    protected Map<Id<?>, Map<String, Set<Locale>>> getOrCreateTransactionChanges() {
+        Map<Id<?>, Map<String, Set<Locale>>> changes = getTransactionChanges();
+        if (changes == null) {
+            changes = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // After-commit listeners are invoked by synchronizations registered when events are
+                    // published, in afterCompletion and in the order of registration, so the changes
+                    // are released by a synchronization registered after all events are published
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                        }
+                    });
+                }
+            });
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.locale;
+
+import com.glebfox.jmix.locstr.datatype.LocalePool;
+import io.jmix.core.CoreProperties;
+import io.jmix.core.MessageTools;
+import io.jmix.core.security.CurrentAuthentication;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared information about available locales: display names, ordinals, fallback chains and
+ * collators. It is calculated once from {@code jmix.core.available-locales} instead of by each
+ * component, and recalculated by {@link #refresh()}.
+ * <p>
+ * Display names are provided by {@link MessageTools#getLocaleDisplayName(Locale)} and calculated
+ * once per UI locale, that is the locale of the current user.
+ */
+@Component("locstr_LocaleCatalog")
+public class LocaleCatalog implements InitializingBean {
+
+    protected final CoreProperties coreProperties;
+    protected final MessageTools messageTools;
+    protected final CurrentAuthentication currentAuthentication;
+
+    protected volatile Snapshot snapshot;
+
+    public LocaleCatalog(CoreProperties coreProperties,
+                         MessageTools messageTools,
+                         CurrentAuthentication currentAuthentication) {
+        this.coreProperties = coreProperties;
+        this.messageTools = messageTools;
+        this.currentAuthentication = currentAuthentication;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        refresh();
+    }
+
+    /**
+     * Recalculates the catalog from the current list of available locales. Should be invoked
+     * if the list is changed at runtime.
+     */
+    public void refresh() {
+        List<Locale> locales = List.copyOf(coreProperties.getAvailableLocales());
+        LocalePool.register(locales);
+
+        Snapshot snapshot = new Snapshot(locales);
+        for (Locale locale : snapshot.locales) {
+            snapshot.fallbackChains.put(locale, createFallbackChain(snapshot, locale));
+            snapshot.collators.put(locale, Collator.getInstance(locale));
+        }
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * @return available locales in the configured order
+     */
+    public List<Locale> getLocales() {
+        return snapshot.locales;
+    }
+
+    /**
+     * @param locale a locale
+     * @return {@code true} if the locale is available
+     */
+    public boolean contains(Locale locale) {
+        return snapshot.ordinals.containsKey(locale);
+    }
+
+    /**
+     * Returns an index of the given locale in the list of available locales.
+     *
+     * @param locale a locale
+     * @return the index or -1 if the locale isn't available
+     */
+    public int getOrdinal(Locale locale) {
+        Integer ordinal = snapshot.ordinals.get(locale);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Returns an available locale by its {@link Locale#toString()} representation, which is
+     * the form of locale keys of stored {@link com.glebfox.jmix.locstr.datatype.LocalizedString} values.
+     *
+     * @param tag a locale string
+     * @return the locale or {@code null} if there is no such available locale
+     */
+    @Nullable
+    public Locale findLocale(String tag) {
+        return snapshot.tags.get(tag);
+    }
+
+    /**
+     * Returns display names of available locales for the current user locale.
+     *
+     * @return an unmodifiable map of display names in the order of available locales
+     */
+    public Map<Locale, String> getDisplayNames() {
+        Locale uiLocale = currentAuthentication.isSet() ? currentAuthentication.getLocale() : Locale.getDefault();
+        Snapshot snapshot = this.snapshot;
+        // MessageTools resolves display names for the current user, so they are cached under the user locale
+        return snapshot.displayNames.computeIfAbsent(uiLocale, __ -> {
+            Map<Locale, String> displayNames = new LinkedHashMap<>();
+            for (Locale locale : snapshot.locales) {
+                displayNames.put(locale, messageTools.getLocaleDisplayName(locale));
+            }
+            return Collections.unmodifiableMap(displayNames);
+        });
+    }
+
+    /**
+     * Returns a display name of the given locale for the current user locale.
+     *
+     * @param locale a locale
+     * @return the display name
+     */
+    public String getDisplayName(Locale locale) {
+        String displayName = getDisplayNames().get(locale);
+        return displayName != null ? displayName : messageTools.getLocaleDisplayName(locale);
+    }
+
+    /**
+     * Returns available locales whose values can be used if there is no value for the given
+     * locale, in the order of preference: the locale itself, locales with the same language
+     * and the first available locale. For example, {@code [de_CH, de, en]}.
+     *
+     * @param locale a locale
+     * @return an unmodifiable list of locales
+     */
+    public List<Locale> getFallbackChain(Locale locale) {
+        Snapshot snapshot = this.snapshot;
+        List<Locale> chain = snapshot.fallbackChains.get(locale);
+        return chain != null ? chain : createFallbackChain(snapshot, locale);
+    }
+
+    /**
+     * Returns a collator for the given locale.
+     *
+     * @param locale a locale
+     * @return a new collator instance, which can be used without synchronization
+     */
+    public Collator getCollator(Locale locale) {
+        Collator collator = snapshot.collators.get(locale);
+        return collator != null ? (Collator) collator.clone() : Collator.getInstance(locale);
+    }
+
+    protected List<Locale> createFallbackChain(Snapshot snapshot, Locale locale) {
+        List<Locale> chain = new ArrayList<>();
+        if (snapshot.ordinals.containsKey(locale)) {
+            chain.add(locale);
+        }
+
+        Locale languageLocale = LocalePool.canonical(new Locale(locale.getLanguage()));
+        if (!languageLocale.equals(locale) && snapshot.ordinals.containsKey(languageLocale)) {
+            chain.add(languageLocale);
+        }
+
+        for (Locale available : snapshot.locales) {
+            if (available.getLanguage().equals(locale.getLanguage()) && !chain.contains(available)) {
+                chain.add(available);
+            }
+        }
+
+        if (!snapshot.locales.isEmpty() && !chain.contains(snapshot.locales.get(0))) {
+            chain.add(snapshot.locales.get(0));
+        }
+        return List.copyOf(chain);
+    }
+
+    protected static class Snapshot {
+
+        protected final List<Locale> locales;
+        protected final Map<Locale, Integer> ordinals = new HashMap<>();
+        protected final Map<String, Locale> tags = new HashMap<>();
+        protected final Map<Locale, List<Locale>> fallbackChains = new HashMap<>();
+        protected final Map<Locale, Collator> collators = new HashMap<>();
+        protected final Map<Locale, Map<Locale, String>> displayNames = new ConcurrentHashMap<>();
+
+        protected Snapshot(List<Locale> locales) {
+            List<Locale> canonical = new ArrayList<>(locales.size());
+            for (Locale locale : locales) {
+                Locale instance = LocalePool.canonical(locale);
+                if (!ordinals.containsKey(instance)) {
+                    ordinals.put(instance, canonical.size());
+                    tags.put(instance.toString(), instance);
+                    canonical.add(instance);
+                }
+            }
+            this.locales = List.copyOf(canonical);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.merge;
+
+import com.glebfox.jmix.locstr.LocstrProperties;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import io.jmix.core.DataManager;
+import io.jmix.core.EntityStates;
+import io.jmix.core.FetchPlan;
+import io.jmix.core.Id;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import jakarta.persistence.Version;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.*;
+
+/**
+ * Saves entities merging changes of {@link LocalizedString} attributes per locale if the entity
+ * was changed concurrently. Usage in a detail view:
+ * <pre>
+ * &#64;Subscribe
+ * public void onReady(final ReadyEvent event) {
+ *     snapshot = conflictMerger.createSnapshot(getEditedEntity());
+ * }
+ *
+ * &#64;Install(target = Target.DATA_CONTEXT)
+ * private Set&lt;Object&gt; saveDelegate(final SaveContext saveContext) {
+ *     return Set.of(conflictMerger.save(getEditedEntity(), snapshot));
+ * }
+ * </pre>
+ * On an optimistic lock conflict, the stored entity is reloaded and merged with the saved one
+ * using the snapshot as an original state: locale values and other local attributes changed only
+ * concurrently are taken from the stored entity, while those changed only by the current user are
+ * kept. If the same locale value or attribute was changed differently,
+ * {@link LocalizedStringMergeConflictException} is thrown.
+ */
+@Component("locstr_LocalizedStringConflictMerger")
+public class LocalizedStringConflictMerger {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalizedStringConflictMerger.class);
+
+    protected final DataManager dataManager;
+    protected final Metadata metadata;
+    protected final MetadataTools metadataTools;
+    protected final EntityStates entityStates;
+    protected final LocstrProperties properties;
+
+    public LocalizedStringConflictMerger(DataManager dataManager,
+                                         Metadata metadata,
+                                         MetadataTools metadataTools,
+                                         EntityStates entityStates,
+                                         LocstrProperties properties) {
+        this.dataManager = dataManager;
+        this.metadata = metadata;
+        this.metadataTools = metadataTools;
+        this.entityStates = entityStates;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates a snapshot of local attribute values of the given entity.
+     *
+     * @param entity an entity instance as it was loaded
+     * @return the snapshot
+     */
+    public LocalizedStringSnapshot createSnapshot(Object entity) {
+        Map<String, Object> values = new HashMap<>();
+        for (MetaProperty metaProperty : getMergedProperties(metadata.getClass(entity))) {
+            if (entityStates.isLoaded(entity, metaProperty.getName())) {
+                values.put(metaProperty.getName(), EntityValues.getValue(entity, metaProperty.getName()));
+            }
+        }
+        return new LocalizedStringSnapshot(values);
+    }
+
+    /**
+     * Saves the given entity and merges its changes with concurrent changes on optimistic
+     * lock conflicts.
+     *
+     * @param entity   an entity to save
+     * @param snapshot a snapshot of the entity created when it was loaded
+     * @param <E>      entity type
+     * @return the saved entity
+     * @throws LocalizedStringMergeConflictException if changes can't be merged
+     */
+    public <E> E save(E entity, LocalizedStringSnapshot snapshot) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return dataManager.save(entity);
+            } catch (RuntimeException e) {
+                if (!isOptimisticLockException(e)
+                        || entityStates.isNew(entity)
+                        || attempt >= properties.getConflictMergeAttempts()) {
+                    throw e;
+                }
+
+                log.debug("Merging concurrent changes of {}, attempt {}", entity, attempt);
+
+                E stored = dataManager.load(Id.of(entity))
+                        .fetchPlan(FetchPlan.LOCAL)
+                        .one();
+                merge(entity, stored, snapshot, e);
+                // next conflicts are resolved relative to the merged state
+                snapshot = createSnapshot(stored);
+            }
+        }
+    }
+
+    /**
+     * Merges changes of the stored entity into the given one and takes the stored version,
+     * so the given entity can be saved again.
+     *
+     * @param entity   an entity changed by the current user
+     * @param stored   the entity reloaded from the database
+     * @param snapshot a snapshot of the original entity state
+     * @param cause    an optimistic lock exception
+     */
+    protected void merge(Object entity, Object stored, LocalizedStringSnapshot snapshot, RuntimeException cause) {
+        Map<String, Object> mergedValues = new HashMap<>();
+        Map<String, Set<Locale>> conflicts = new LinkedHashMap<>();
+
+        for (MetaProperty metaProperty : getMergedProperties(metadata.getClass(entity))) {
+            String name = metaProperty.getName();
+            if (!snapshot.contains(name) || !entityStates.isLoaded(entity, name)) {
+                continue;
+            }
+
+            Object original = snapshot.get(name);
+            Object theirs = EntityValues.getValue(stored, name);
+            Object mine = EntityValues.getValue(entity, name);
+
+            if (isLocalizedString(metaProperty)) {
+                LocalizedStringMerge merge = LocalizedStringMerge.of((LocalizedString) original,
+                        (LocalizedString) theirs, (LocalizedString) mine);
+                if (merge.hasConflicts()) {
+                    conflicts.put(name, merge.conflicts());
+                }
+                mergedValues.put(name, merge.value());
+            } else if (Objects.equals(original, mine)) {
+                mergedValues.put(name, theirs);
+            } else if (!Objects.equals(original, theirs) && !Objects.equals(theirs, mine)) {
+                conflicts.put(name, Collections.emptySet());
+            }
+        }
+
+        if (!conflicts.isEmpty()) {
+            throw new LocalizedStringMergeConflictException(conflicts, cause);
+        }
+
+        mergedValues.forEach((name, value) -> {
+            if (!Objects.equals(EntityValues.getValue(entity, name), value)) {
+                EntityValues.setValue(entity, name, value);
+            }
+        });
+
+        MetaProperty versionProperty = getVersionProperty(metadata.getClass(entity));
+        if (versionProperty == null) {
+            throw cause;
+        }
+        EntityValues.setValue(entity, versionProperty.getName(),
+                EntityValues.getValue(stored, versionProperty.getName()));
+    }
+
+    /**
+     * Returns properties whose changes are merged: non-system local attributes.
+     *
+     * @param metaClass a meta-class of an entity
+     * @return merged properties
+     */
+    protected List<MetaProperty> getMergedProperties(MetaClass metaClass) {
+        return metaClass.getProperties().stream()
+                .filter(metaProperty -> metaProperty.getRange().isDatatype()
+                        || metaProperty.getRange().isEnum())
+                .filter(metaProperty -> metadataTools.isJpa(metaProperty))
+                .filter(metaProperty -> !metadataTools.isSystem(metaProperty))
+                .filter(metaProperty -> !metaProperty.isReadOnly())
+                .toList();
+    }
+
+    @Nullable
+    protected MetaProperty getVersionProperty(MetaClass metaClass) {
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            AnnotatedElement annotatedElement = metaProperty.getAnnotatedElement();
+            if (annotatedElement != null && annotatedElement.isAnnotationPresent(Version.class)) {
+                return metaProperty;
+            }
+        }
+        return null;
+    }
+
+    protected boolean isLocalizedString(MetaProperty metaProperty) {
+        return metaProperty.getRange().isDatatype()
+                && LocalizedString.class.equals(metaProperty.getRange().asDatatype().getJavaClass());
+    }
+
+    protected boolean isOptimisticLockException(Throwable throwable) {
+        return ExceptionUtils.getThrowableList(throwable).stream()
+                .anyMatch(t -> t instanceof OptimisticLockingFailureException
+                        || t instanceof jakarta.persistence.OptimisticLockException
+                        || "OptimisticLockException".equals(t.getClass().getSimpleName()));
+    }
+}
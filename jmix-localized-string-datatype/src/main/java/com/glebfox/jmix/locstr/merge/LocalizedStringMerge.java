@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.merge;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+
+/**
+ * Result of a three-way merge of {@link LocalizedString} values performed per locale.
+ *
+ * @param value     merged value, locales with conflicting changes contain the value of {@code mine}
+ * @param conflicts locales changed in both values differently
+ */
+public record LocalizedStringMerge(@Nullable LocalizedString value, Set<Locale> conflicts) {
+
+    /**
+     * Merges changes of two values made independently from the same original value.
+     * A locale value changed only in one of them is taken from that value. A locale value
+     * changed in both of them is a conflict unless the changes are equal. An empty locale value
+     * is equal to a missing one.
+     *
+     * @param original an original value
+     * @param theirs   a value changed concurrently, e.g. a value stored in the database
+     * @param mine     a value changed by the current user
+     * @return the merge result
+     */
+    public static LocalizedStringMerge of(@Nullable LocalizedString original,
+                                          @Nullable LocalizedString theirs,
+                                          @Nullable LocalizedString mine) {
+        if (Objects.equals(theirs, mine) || Objects.equals(original, theirs)) {
+            return new LocalizedStringMerge(mine, Collections.emptySet());
+        } else if (Objects.equals(original, mine)) {
+            return new LocalizedStringMerge(theirs, Collections.emptySet());
+        }
+
+        Set<Locale> locales = new LinkedHashSet<>();
+        locales.addAll(getLocales(original));
+        locales.addAll(getLocales(theirs));
+        locales.addAll(getLocales(mine));
+
+        Map<Locale, String> values = new HashMap<>();
+        Set<Locale> conflicts = new LinkedHashSet<>();
+        for (Locale locale : locales) {
+            String originalValue = getValue(original, locale);
+            String theirValue = getValue(theirs, locale);
+            String myValue = getValue(mine, locale);
+
+            LocalizedString source;
+            if (theirValue.equals(myValue) || originalValue.equals(theirValue)) {
+                source = mine;
+            } else if (originalValue.equals(myValue)) {
+                source = theirs;
+            } else {
+                source = mine;
+                conflicts.add(locale);
+            }
+
+            if (source != null && source.getLocales().contains(locale)) {
+                values.put(locale, source.getValue(locale));
+            }
+        }
+
+        return new LocalizedStringMerge(new LocalizedString(values), Collections.unmodifiableSet(conflicts));
+    }
+
+    /**
+     * @return {@code true} if some locales were changed in both values differently
+     */
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+
+    private static Set<Locale> getLocales(@Nullable LocalizedString value) {
+        return value != null ? value.getLocales() : Collections.emptySet();
+    }
+
+    private static String getValue(@Nullable LocalizedString value, Locale locale) {
+        // the edit action stores empty values of all available locales,
+        // so an empty value and a missing locale are the same change
+        return value != null ? value.getValue(locale) : "";
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.merge;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown if changes of an entity can't be merged with changes saved concurrently.
+ */
+public class LocalizedStringMergeConflictException extends RuntimeException {
+
+    protected final Map<String, Set<Locale>> conflicts;
+
+    public LocalizedStringMergeConflictException(Map<String, Set<Locale>> conflicts, Throwable cause) {
+        super(createMessage(conflicts), cause);
+        this.conflicts = Map.copyOf(conflicts);
+    }
+
+    /**
+     * Returns conflicting attributes. For {@link com.glebfox.jmix.locstr.datatype.LocalizedString}
+     * attributes the set contains conflicting locales, for other attributes the set is empty.
+     *
+     * @return conflicting locales by attribute names
+     */
+    public Map<String, Set<Locale>> getConflicts() {
+        return conflicts;
+    }
+
+    private static String createMessage(Map<String, Set<Locale>> conflicts) {
+        return "Conflicting concurrent changes: " + conflicts.entrySet().stream()
+                .map(entry -> entry.getValue().isEmpty()
+                        ? entry.getKey()
+                        : entry.getKey() + entry.getValue())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.merge;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Values of local attributes of an entity as they were loaded, used as an original state
+ * when changes are merged by {@link LocalizedStringConflictMerger}.
+ *
+ * @param values attribute values by attribute names
+ */
+public record LocalizedStringSnapshot(Map<String, Object> values) {
+
+    public LocalizedStringSnapshot {
+        values = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @param property an attribute name
+     * @return {@code true} if the snapshot contains a value of the attribute
+     */
+    public boolean contains(String property) {
+        return values.containsKey(property);
+    }
+
+    /**
+     * @param property an attribute name
+     * @return the attribute value or {@code null}
+     */
+    @Nullable
+    public Object get(String property) {
+        return values.get(property);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.metadata;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.vaadin.flow.component.ItemLabelGenerator;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.annotation.InstanceName;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.security.CurrentAuthentication;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides instance names of entities whose {@link InstanceName} is a {@link LocalizedString}
+ * attribute directly from the attribute value for a locale.
+ * <p>
+ * Only the {@link InstanceName} attribute is cached per meta-class. Getting a value of
+ * a {@link LocalizedString} for a locale is a map lookup, so names aren't cached per entity.
+ * <p>
+ * Instance names of other entities are obtained from {@link MetadataTools#getInstanceName(Object)}.
+ */
+@Component("locstr_LocalizedStringInstanceNames")
+public class LocalizedStringInstanceNames {
+
+    protected final Metadata metadata;
+    protected final MetadataTools metadataTools;
+    protected final CurrentAuthentication currentAuthentication;
+
+    protected final Map<MetaClass, Optional<MetaProperty>> nameProperties = new ConcurrentHashMap<>();
+
+    public LocalizedStringInstanceNames(Metadata metadata,
+                                        MetadataTools metadataTools,
+                                        CurrentAuthentication currentAuthentication) {
+        this.metadata = metadata;
+        this.metadataTools = metadataTools;
+        this.currentAuthentication = currentAuthentication;
+    }
+
+    /**
+     * Returns the instance name of the given entity for the current user locale.
+     *
+     * @param entity an entity instance
+     * @return the instance name
+     */
+    public String getInstanceName(Object entity) {
+        return getInstanceName(entity, currentAuthentication.getLocale());
+    }
+
+    /**
+     * Returns the instance name of the given entity for the given locale.
+     *
+     * @param entity an entity instance
+     * @param locale a locale
+     * @return the instance name
+     */
+    public String getInstanceName(Object entity, Locale locale) {
+        MetaProperty nameProperty = getNameProperty(metadata.getClass(entity));
+        if (nameProperty == null) {
+            return metadataTools.getInstanceName(entity);
+        }
+
+        LocalizedString value = EntityValues.getValue(entity, nameProperty.getName());
+        return value != null ? value.getValue(locale) : "";
+    }
+
+    /**
+     * Creates a generator of item labels for the current user locale. It is set to
+     * {@code EntityComboBox} components by default.
+     *
+     * @param <E> entity type
+     * @return a generator of item labels
+     */
+    public <E> ItemLabelGenerator<E> createItemLabelGenerator() {
+        Locale locale = currentAuthentication.getLocale();
+        return entity -> entity == null ? "" : getInstanceName(entity, locale);
+    }
+
+    /**
+     * Returns a {@link LocalizedString} property that is annotated with {@link InstanceName}.
+     *
+     * @param metaClass a meta-class of an entity
+     * @return a name property or {@code null} if the instance name isn't defined by
+     * a {@link LocalizedString} property
+     */
+    @Nullable
+    protected MetaProperty getNameProperty(MetaClass metaClass) {
+        return nameProperties.computeIfAbsent(metaClass, __ ->
+                metadataTools.getInstanceNameRelatedProperties(metaClass).stream()
+                        .filter(this::isLocalizedStringNameProperty)
+                        .findFirst())
+                .orElse(null);
+    }
+
+    protected boolean isLocalizedStringNameProperty(MetaProperty metaProperty) {
+        AnnotatedElement annotatedElement = metaProperty.getAnnotatedElement();
+        return annotatedElement != null
+                && annotatedElement.isAnnotationPresent(InstanceName.class)
+                && metaProperty.getRange().isDatatype()
+                && LocalizedString.class.equals(metaProperty.getRange().asDatatype().getJavaClass());
+    }
+}
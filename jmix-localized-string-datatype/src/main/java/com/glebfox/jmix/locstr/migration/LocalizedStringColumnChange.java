@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.migration;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.util.Locale;
+
+/**
+ * Liquibase change that converts a string column to {@link com.glebfox.jmix.locstr.datatype.LocalizedString}
+ * using {@link LocalizedStringColumnMigration}:
+ * <pre>
+ * &lt;customChange class="com.glebfox.jmix.locstr.migration.LocalizedStringColumnChange"&gt;
+ *     &lt;param name="tableName" value="PRODUCT"/&gt;
+ *     &lt;param name="keyColumn" value="ID"/&gt;
+ *     &lt;param name="sourceColumn" value="NAME"/&gt;
+ *     &lt;param name="targetColumn" value="NAME_LOC"/&gt;
+ *     &lt;param name="locale" value="en"/&gt;
+ * &lt;/customChange&gt;
+ * </pre>
+ * Ranges are converted sequentially using the Liquibase connection and committed one by one, so
+ * a failed change converts only the remaining ranges when it's run again. Large tables can be
+ * converted in parallel by {@link LocalizedStringColumnMigrationRunner} before the change is applied.
+ */
+public class LocalizedStringColumnChange implements CustomTaskChange {
+
+    protected String tableName;
+    protected String keyColumn;
+    protected String sourceColumn;
+    protected String targetColumn;
+    protected String locale;
+    protected Integer chunkSize;
+    protected Integer batchSize;
+
+    protected long convertedRows;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        if (!(database.getConnection() instanceof JdbcConnection connection)) {
+            throw new CustomChangeException("JDBC connection is required to migrate " + tableName);
+        }
+
+        LocalizedStringColumnMigration migration = LocalizedStringColumnMigration.forConnection(
+                connection.getUnderlyingConnection(), tableName, keyColumn, sourceColumn,
+                targetColumn != null ? targetColumn : sourceColumn, Locale.forLanguageTag(locale.replace('_', '-')));
+        if (chunkSize != null) {
+            migration.withChunkSize(chunkSize);
+        }
+        if (batchSize != null) {
+            migration.withBatchSize(batchSize);
+        }
+
+        try {
+            convertedRows = migration.migrateAndVerify().convertedRows();
+        } catch (LocalizedStringMigrationException e) {
+            throw new CustomChangeException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return String.format("%d values of %s.%s converted to localized strings", convertedRows, tableName, sourceColumn);
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        errors.checkRequiredField("tableName", tableName);
+        errors.checkRequiredField("keyColumn", keyColumn);
+        errors.checkRequiredField("sourceColumn", sourceColumn);
+        errors.checkRequiredField("locale", locale);
+        return errors;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public void setKeyColumn(String keyColumn) {
+        this.keyColumn = keyColumn;
+    }
+
+    public void setSourceColumn(String sourceColumn) {
+        this.sourceColumn = sourceColumn;
+    }
+
+    /**
+     * Sets a column to write JSON values to. The source column is converted in place if not set,
+     * in which case it must be changed to {@code CLOB} by a preceding change set.
+     */
+    public void setTargetColumn(String targetColumn) {
+        this.targetColumn = targetColumn;
+    }
+
+    /**
+     * Sets a locale of existing values, e.g. {@code en} or {@code en_US}.
+     */
+    public void setLocale(String locale) {
+        this.locale = locale;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,525 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.migration;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Converts values of a string column to the JSON representation of {@link LocalizedString} with
+ * a single locale, e.g. {@code Black} to {@code {"en":"Black"}}.
+ * <p>
+ * The table is split into ranges of {@link #withChunkSize(int) chunk size} rows by the key column.
+ * Ranges are converted in parallel, each in its own transaction with batched updates, and recorded
+ * in the {@value #CHECKPOINT_TABLE} table, so a repeated run skips completed ranges. Values can be
+ * written to another column, in which case only rows with an empty target column are converted,
+ * or to the source column, in which case values that are already JSON objects are skipped.
+ * <p>
+ * JSON values are longer than source values and {@link LocalizedString} attributes are mapped to
+ * {@code CLOB} columns, so a source column converted in place must be changed to {@code CLOB} before
+ * the migration, otherwise values close to the length of a {@code VARCHAR} column don't fit.
+ * <p>
+ * The migration is expected to run when the table isn't modified, e.g. in a maintenance window.
+ */
+public class LocalizedStringColumnMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalizedStringColumnMigration.class);
+
+    public static final String CHECKPOINT_TABLE = "LOCSTR_MIGRATION_CHECKPOINT";
+
+    public static final int DEFAULT_CHUNK_SIZE = 10_000;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    protected final DataSource dataSource;
+    @Nullable
+    protected final Connection sharedConnection;
+
+    protected final String table;
+    protected final String keyColumn;
+    protected final String sourceColumn;
+    protected final String targetColumn;
+    protected final Locale locale;
+
+    protected int chunkSize = DEFAULT_CHUNK_SIZE;
+    protected int batchSize = DEFAULT_BATCH_SIZE;
+    protected int threads = 1;
+
+    /**
+     * Creates a migration that obtains a connection for each range from the given data source.
+     *
+     * @param dataSource   a data source
+     * @param table        a table name
+     * @param keyColumn    a unique column defining the order of rows, usually the primary key
+     * @param sourceColumn a column with string values
+     * @param targetColumn a column to write JSON values to, may be the same as the source column
+     *                     if it's a {@code CLOB} column
+     * @param locale       a locale of existing values
+     */
+    public LocalizedStringColumnMigration(DataSource dataSource, String table, String keyColumn,
+                                          String sourceColumn, String targetColumn, Locale locale) {
+        this(dataSource, null, table, keyColumn, sourceColumn, targetColumn, locale);
+    }
+
+    protected LocalizedStringColumnMigration(@Nullable DataSource dataSource, @Nullable Connection sharedConnection,
+                                             String table, String keyColumn,
+                                             String sourceColumn, String targetColumn, Locale locale) {
+        this.dataSource = dataSource;
+        this.sharedConnection = sharedConnection;
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.sourceColumn = sourceColumn;
+        this.targetColumn = targetColumn;
+        this.locale = locale;
+    }
+
+    /**
+     * Creates a migration that converts all ranges sequentially using the given connection,
+     * committing after each range. The connection isn't closed.
+     *
+     * @see #LocalizedStringColumnMigration(DataSource, String, String, String, String, Locale)
+     */
+    public static LocalizedStringColumnMigration forConnection(Connection connection, String table, String keyColumn,
+                                                               String sourceColumn, String targetColumn, Locale locale) {
+        return new LocalizedStringColumnMigration(null, connection, table, keyColumn, sourceColumn, targetColumn, locale);
+    }
+
+    /**
+     * @param chunkSize the number of rows in a range converted in one transaction
+     * @return this migration
+     */
+    public LocalizedStringColumnMigration withChunkSize(int chunkSize) {
+        Preconditions.checkArgument(chunkSize > 0, "Chunk size must be positive");
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * @param batchSize the number of updates sent to the database at once
+     * @return this migration
+     */
+    public LocalizedStringColumnMigration withBatchSize(int batchSize) {
+        Preconditions.checkArgument(batchSize > 0, "Batch size must be positive");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @param threads the number of ranges converted in parallel, ignored for a migration
+     *                {@link #forConnection(Connection, String, String, String, String, Locale) using a connection}
+     * @return this migration
+     */
+    public LocalizedStringColumnMigration withThreads(int threads) {
+        Preconditions.checkArgument(threads > 0, "Number of threads must be positive");
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * @return an identifier of the migration in the {@value #CHECKPOINT_TABLE} table
+     */
+    public String getMigrationId() {
+        return table + "." + sourceColumn + ">" + targetColumn;
+    }
+
+    /**
+     * Converts all ranges that weren't completed by previous runs.
+     *
+     * @return the result without verification
+     * @throws LocalizedStringMigrationException if conversion of a range fails
+     */
+    public LocalizedStringMigrationResult migrate() {
+        List<Chunk> chunks;
+        Set<String> completedChunks;
+        Connection connection = acquire();
+        try {
+            initCheckpointTable(connection);
+            completedChunks = loadCompletedChunks(connection);
+            chunks = loadChunks(connection);
+        } catch (SQLException e) {
+            throw new LocalizedStringMigrationException("Unable to prepare migration of " + getMigrationId(), e);
+        } finally {
+            release(connection);
+        }
+
+        List<Chunk> pendingChunks = chunks.stream()
+                .filter(chunk -> !completedChunks.contains(chunk.getId()))
+                .toList();
+        log.info("Migration of {}: {} ranges of {} rows, {} completed before",
+                getMigrationId(), chunks.size(), chunkSize, chunks.size() - pendingChunks.size());
+
+        long convertedRows = process(pendingChunks, this::convertChunk);
+
+        log.info("Migration of {} completed: {} rows converted", getMigrationId(), convertedRows);
+        return new LocalizedStringMigrationResult(chunks.size(), chunks.size() - pendingChunks.size(),
+                convertedRows, -1);
+    }
+
+    /**
+     * Checks that all values are converted. If the target column differs from the source one,
+     * each value of the target column must contain the source value for the migration locale.
+     *
+     * @return the number of mismatched rows
+     */
+    public long verify() {
+        List<Chunk> chunks;
+        Connection connection = acquire();
+        try {
+            chunks = loadChunks(connection);
+        } catch (SQLException e) {
+            throw new LocalizedStringMigrationException("Unable to verify migration of " + getMigrationId(), e);
+        } finally {
+            release(connection);
+        }
+
+        long mismatchedRows = process(chunks, this::verifyChunk);
+        if (mismatchedRows > 0) {
+            log.warn("Migration of {}: {} rows don't match source values", getMigrationId(), mismatchedRows);
+        } else {
+            log.info("Migration of {} verified", getMigrationId());
+        }
+        return mismatchedRows;
+    }
+
+    /**
+     * Converts all pending ranges and verifies the result.
+     *
+     * @return the verified result
+     * @throws LocalizedStringMigrationException if conversion fails or some values don't match
+     */
+    public LocalizedStringMigrationResult migrateAndVerify() {
+        LocalizedStringMigrationResult result = migrate();
+        long mismatchedRows = verify();
+        if (mismatchedRows > 0) {
+            throw new LocalizedStringMigrationException(String.format("Migration of %s failed verification: " +
+                    "%d rows don't match source values", getMigrationId(), mismatchedRows));
+        }
+        return new LocalizedStringMigrationResult(result.chunks(), result.skippedChunks(),
+                result.convertedRows(), mismatchedRows);
+    }
+
+    protected long process(List<Chunk> chunks, ChunkProcessor processor) {
+        if (sharedConnection != null || threads == 1) {
+            long total = 0;
+            for (Chunk chunk : chunks) {
+                total += processor.process(chunk);
+            }
+            return total;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new MigrationThreadFactory());
+        try {
+            List<Future<Long>> futures = new ArrayList<>(chunks.size());
+            for (Chunk chunk : chunks) {
+                futures.add(executor.submit(() -> processor.process(chunk)));
+            }
+
+            long total = 0;
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+            return total;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LocalizedStringMigrationException migrationException) {
+                throw migrationException;
+            }
+            throw new LocalizedStringMigrationException("Migration of " + getMigrationId() + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LocalizedStringMigrationException("Migration of " + getMigrationId() + " interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected long convertChunk(Chunk chunk) {
+        Connection connection = acquire();
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long convertedRows = convertChunk(connection, chunk);
+                saveCheckpoint(connection, chunk, convertedRows);
+                connection.commit();
+
+                log.debug("Migration of {}: range {} converted, {} rows", getMigrationId(), chunk.getId(), convertedRows);
+                return convertedRows;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new LocalizedStringMigrationException(String.format("Unable to convert range %s of %s",
+                    chunk.getId(), getMigrationId()), e);
+        } finally {
+            release(connection);
+        }
+    }
+
+    protected long convertChunk(Connection connection, Chunk chunk) throws SQLException {
+        String sql = "select " + keyColumn + ", " + sourceColumn + " from " + table
+                + " where " + createRangeCondition(chunk) + " and " + sourceColumn + " is not null"
+                + (isInPlace() ? "" : " and " + targetColumn + " is null");
+
+        // rows are read before updating, since not all drivers allow updates while a result set is open
+        List<Object> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            bindRange(select, chunk);
+            select.setFetchSize(Math.min(chunkSize, 1000));
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    String value = resultSet.getString(2);
+                    if (!isInPlace() || !isConverted(value)) {
+                        keys.add(resultSet.getObject(1));
+                        values.add(value);
+                    }
+                }
+            }
+        }
+
+        String updateSql = "update " + table + " set " + targetColumn + " = ? where " + keyColumn + " = ?";
+        try (PreparedStatement update = connection.prepareStatement(updateSql)) {
+            for (int i = 0; i < keys.size(); i++) {
+                update.setString(1, toJson(values.get(i)));
+                update.setObject(2, keys.get(i));
+                update.addBatch();
+                if ((i + 1) % batchSize == 0) {
+                    update.executeBatch();
+                }
+            }
+            if (keys.size() % batchSize != 0) {
+                update.executeBatch();
+            }
+        }
+        return keys.size();
+    }
+
+    protected long verifyChunk(Chunk chunk) {
+        String sql = "select " + keyColumn + ", " + sourceColumn + (isInPlace() ? "" : ", " + targetColumn)
+                + " from " + table + " where " + createRangeCondition(chunk);
+
+        Connection connection = acquire();
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            bindRange(select, chunk);
+            select.setFetchSize(Math.min(chunkSize, 1000));
+
+            long mismatchedRows = 0;
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    String source = resultSet.getString(2);
+                    boolean matches = isInPlace()
+                            ? source == null || isConverted(source)
+                            : matches(source, resultSet.getString(3));
+                    if (!matches) {
+                        if (mismatchedRows == 0) {
+                            log.warn("Migration of {}: value of the row {} doesn't match the source value",
+                                    getMigrationId(), resultSet.getObject(1));
+                        }
+                        mismatchedRows++;
+                    }
+                }
+            }
+            return mismatchedRows;
+        } catch (SQLException e) {
+            throw new LocalizedStringMigrationException(String.format("Unable to verify range %s of %s",
+                    chunk.getId(), getMigrationId()), e);
+        } finally {
+            release(connection);
+        }
+    }
+
+    protected boolean matches(@Nullable String source, @Nullable String target) {
+        if (source == null || target == null) {
+            return source == null && target == null;
+        }
+
+        try {
+            LocalizedString value = LocalizedString.fromJson(target);
+            return source.equals(value.getValue(locale));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    protected boolean isConverted(String value) {
+        if (!value.startsWith("{")) {
+            return false;
+        }
+
+        try {
+            LocalizedString.fromJson(value);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    protected String toJson(String value) {
+        return new LocalizedString(Map.of(locale, value)).toJson();
+    }
+
+    protected boolean isInPlace() {
+        return sourceColumn.equalsIgnoreCase(targetColumn);
+    }
+
+    protected List<Chunk> loadChunks(Connection connection) throws SQLException {
+        // every chunkSize-th key starts a range, so ranges are the same between runs on unchanged data
+        List<Object> boundaries = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "select " + keyColumn + " from " + table + " order by " + keyColumn)) {
+            select.setFetchSize(10_000);
+            try (ResultSet resultSet = select.executeQuery()) {
+                long row = 0;
+                while (resultSet.next()) {
+                    if (row++ % chunkSize == 0) {
+                        boundaries.add(resultSet.getObject(1));
+                    }
+                }
+            }
+        }
+
+        List<Chunk> chunks = new ArrayList<>(boundaries.size());
+        for (int i = 0; i < boundaries.size(); i++) {
+            chunks.add(new Chunk(boundaries.get(i), i + 1 < boundaries.size() ? boundaries.get(i + 1) : null));
+        }
+        return chunks;
+    }
+
+    protected String createRangeCondition(Chunk chunk) {
+        return keyColumn + " >= ?" + (chunk.end() != null ? " and " + keyColumn + " < ?" : "");
+    }
+
+    protected void bindRange(PreparedStatement statement, Chunk chunk) throws SQLException {
+        statement.setObject(1, chunk.start());
+        if (chunk.end() != null) {
+            statement.setObject(2, chunk.end());
+        }
+    }
+
+    protected void initCheckpointTable(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String name : List.of(CHECKPOINT_TABLE, CHECKPOINT_TABLE.toLowerCase())) {
+            try (ResultSet tables = metaData.getTables(null, null, name, new String[]{"TABLE"})) {
+                if (tables.next()) {
+                    return;
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table " + CHECKPOINT_TABLE + " ("
+                    + "MIGRATION_ID varchar(255) not null, "
+                    + "CHUNK_ID varchar(255) not null, "
+                    + "CONVERTED_ROWS integer, "
+                    + "primary key (MIGRATION_ID, CHUNK_ID))");
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    protected Set<String> loadCompletedChunks(Connection connection) throws SQLException {
+        Set<String> chunkIds = new HashSet<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "select CHUNK_ID from " + CHECKPOINT_TABLE + " where MIGRATION_ID = ?")) {
+            select.setString(1, getMigrationId());
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    chunkIds.add(resultSet.getString(1));
+                }
+            }
+        }
+        return chunkIds;
+    }
+
+    protected void saveCheckpoint(Connection connection, Chunk chunk, long convertedRows) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into " + CHECKPOINT_TABLE + " (MIGRATION_ID, CHUNK_ID, CONVERTED_ROWS) values (?, ?, ?)")) {
+            insert.setString(1, getMigrationId());
+            insert.setString(2, chunk.getId());
+            insert.setLong(3, convertedRows);
+            insert.executeUpdate();
+        }
+    }
+
+    protected Connection acquire() {
+        if (sharedConnection != null) {
+            return sharedConnection;
+        }
+
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new LocalizedStringMigrationException("Unable to obtain a connection", e);
+        }
+    }
+
+    protected void release(Connection connection) {
+        if (connection == sharedConnection) {
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Unable to close a connection", e);
+        }
+    }
+
+    /**
+     * A range of keys from the start inclusive to the end exclusive. The last range has no end.
+     */
+    protected record Chunk(Object start, @Nullable Object end) {
+
+        public String getId() {
+            return start + ".." + (end != null ? end : "");
+        }
+    }
+
+    @FunctionalInterface
+    protected interface ChunkProcessor {
+
+        long process(Chunk chunk);
+    }
+
+    protected static class MigrationThreadFactory implements ThreadFactory {
+
+        protected final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "locstr-migration-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.lang.Nullable;
+
+import java.io.Console;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs {@link LocalizedStringColumnMigration} with parallel threads from the command line:
+ * <pre>
+ * java -cp ... com.glebfox.jmix.locstr.migration.LocalizedStringColumnMigrationRunner \
+ *     --url=jdbc:postgresql://localhost/app --username=app \
+ *     --table=PRODUCT --key-column=ID --source-column=NAME --target-column=NAME_LOC \
+ *     --locale=en --threads=8 --chunk-size=10000
+ * </pre>
+ * The database password isn't accepted as an option, since command lines are visible to other
+ * users of the host. It's read from the {@value #PASSWORD_VARIABLE} environment variable or,
+ * if the variable isn't set, from the console.
+ * <p>
+ * Exits with code 1 if the migration fails or its result doesn't pass verification.
+ */
+public class LocalizedStringColumnMigrationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalizedStringColumnMigrationRunner.class);
+
+    public static final String PASSWORD_VARIABLE = "LOCSTR_MIGRATION_PASSWORD";
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        if (options.containsKey("password")) {
+            throw new IllegalArgumentException("Option --password isn't supported, " +
+                    "set the " + PASSWORD_VARIABLE + " environment variable instead");
+        }
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                require(options, "url"), options.get("username"), readPassword());
+        LocalizedStringColumnMigration migration = new LocalizedStringColumnMigration(dataSource,
+                require(options, "table"),
+                require(options, "key-column"),
+                require(options, "source-column"),
+                options.getOrDefault("target-column", options.get("source-column")),
+                Locale.forLanguageTag(require(options, "locale").replace('_', '-')))
+                .withThreads(Integer.parseInt(options.getOrDefault("threads",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))))
+                .withChunkSize(Integer.parseInt(options.getOrDefault("chunk-size",
+                        String.valueOf(LocalizedStringColumnMigration.DEFAULT_CHUNK_SIZE))))
+                .withBatchSize(Integer.parseInt(options.getOrDefault("batch-size",
+                        String.valueOf(LocalizedStringColumnMigration.DEFAULT_BATCH_SIZE))));
+
+        try {
+            LocalizedStringMigrationResult result = migration.migrateAndVerify();
+            log.info("{}: {} ranges, {} skipped, {} rows converted",
+                    migration.getMigrationId(), result.chunks(), result.skippedChunks(), result.convertedRows());
+        } catch (LocalizedStringMigrationException e) {
+            log.error("Migration {} failed", migration.getMigrationId(), e);
+            System.exit(1);
+        }
+    }
+
+    @Nullable
+    protected static String readPassword() {
+        String password = System.getenv(PASSWORD_VARIABLE);
+        if (password != null) {
+            return password;
+        }
+
+        Console console = System.console();
+        if (console == null) {
+            return null;
+        }
+        char[] chars = console.readPassword("Password: ");
+        return chars != null ? new String(chars) : null;
+    }
+
+    protected static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Options must be specified as --name=value: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    protected static String require(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Option --" + name + " is required");
+        }
+        return value;
+    }
+}
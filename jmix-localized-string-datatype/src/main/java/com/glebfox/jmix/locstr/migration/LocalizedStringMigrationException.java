@@ -0,0 +1,32 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.migration;
+
+/**
+ * Thrown if a column can't be migrated to {@link com.glebfox.jmix.locstr.datatype.LocalizedString}
+ * or migrated values don't match the source values.
+ */
+public class LocalizedStringMigrationException extends RuntimeException {
+
+    public LocalizedStringMigrationException(String message) {
+        super(message);
+    }
+
+    public LocalizedStringMigrationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.migration;
+
+/**
+ * Result of {@link LocalizedStringColumnMigration}.
+ *
+ * @param chunks          the number of key ranges
+ * @param skippedChunks   the number of key ranges completed by previous runs
+ * @param convertedRows   the number of converted rows
+ * @param mismatchedRows  the number of rows whose values don't match the source values,
+ *                        or -1 if the result wasn't verified
+ */
+public record LocalizedStringMigrationResult(int chunks,
+                                             int skippedChunks,
+                                             long convertedRows,
+                                             long mismatchedRows) {
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.model;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.datatype.LocalizedStringComparator;
+import io.jmix.core.Sort;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.flowui.model.BaseCollectionLoader;
+import io.jmix.flowui.model.CollectionContainer;
+import io.jmix.flowui.model.Sorter;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Sorts a {@link CollectionContainer} in memory by a {@link LocalizedString} property
+ * using {@link LocalizedStringComparator}. Sorting by other properties is delegated
+ * to the default sorter.
+ * <p>
+ * If the loader of the container loads a page of data, sorting is always delegated to
+ * the default sorter, because sorting only the loaded page in memory would give an order
+ * that differs from page to page.
+ *
+ * @param <E> entity type
+ */
+public class LocalizedStringContainerSorter<E> implements Sorter {
+
+    protected final CollectionContainer<E> container;
+    @Nullable
+    protected final BaseCollectionLoader loader;
+    protected final Sorter delegate;
+    protected final Supplier<LocalizedStringComparator> comparatorSupplier;
+
+    public LocalizedStringContainerSorter(CollectionContainer<E> container,
+                                          @Nullable BaseCollectionLoader loader,
+                                          Sorter delegate,
+                                          Supplier<LocalizedStringComparator> comparatorSupplier) {
+        this.container = container;
+        this.loader = loader;
+        this.delegate = delegate;
+        this.comparatorSupplier = comparatorSupplier;
+    }
+
+    @Override
+    public void sort(Sort sort) {
+        MetaPropertyPath propertyPath = getLocalizedStringPropertyPath(sort);
+        if (propertyPath == null || isPaged()) {
+            delegate.sort(sort);
+            return;
+        }
+
+        // The database representation of a localized string is JSON,
+        // so it's sorted in memory
+        boolean descending = sort.getOrders().get(0).getDirection() == Sort.Direction.DESC;
+        List<E> items = new ArrayList<>(container.getItems());
+        comparatorSupplier.get().sort(items, item -> EntityValues.getValueEx(item, propertyPath), descending);
+
+        container.setItems(items);
+    }
+
+    protected boolean isPaged() {
+        // pagination can be set up after the sorter is created, so the loader is checked on each sorting
+        return loader != null
+                && (loader.getFirstResult() > 0
+                || (loader.getMaxResults() > 0 && loader.getMaxResults() < Integer.MAX_VALUE));
+    }
+
+    @Nullable
+    protected MetaPropertyPath getLocalizedStringPropertyPath(Sort sort) {
+        if (sort.getOrders().size() != 1) {
+            return null;
+        }
+
+        MetaPropertyPath propertyPath = container.getEntityMetaClass()
+                .getPropertyPath(sort.getOrders().get(0).getProperty());
+        return propertyPath != null
+                && propertyPath.getRange().isDatatype()
+                && LocalizedString.class.equals(propertyPath.getRange().asDatatype().getJavaClass())
+                ? propertyPath
+                : null;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.model;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedStringComparator;
+import com.glebfox.jmix.locstr.locale.LocaleCatalog;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.flowui.model.BaseCollectionLoader;
+import io.jmix.flowui.model.CollectionContainer;
+import io.jmix.flowui.model.Sorter;
+import io.jmix.flowui.model.SorterFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Creates container sorters that sort {@link com.glebfox.jmix.locstr.datatype.LocalizedString}
+ * properties in memory using locale-aware collation. A comparator is created for each sorting,
+ * since collators are synchronized and sharing them would serialize sorting of all users.
+ */
+@Primary
+@Component("locstr_SorterFactory")
+public class LocalizedStringSorterFactory extends SorterFactory {
+
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+    @Autowired
+    protected LocaleCatalog localeCatalog;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public Sorter createCollectionContainerSorter(CollectionContainer container,
+                                                  @Nullable BaseCollectionLoader loader) {
+        Sorter delegate = super.createCollectionContainerSorter(container, loader);
+        return new LocalizedStringContainerSorter(container, loader, delegate, this::getComparator);
+    }
+
+    /**
+     * Returns a comparator for the current user locale.
+     *
+     * @return a comparator for the current user locale
+     */
+    public LocalizedStringComparator getComparator() {
+        return getComparator(currentAuthentication.getLocale());
+    }
+
+    /**
+     * Returns a new comparator for the given locale.
+     *
+     * @param locale a locale
+     * @return a comparator for the given locale, which shouldn't be shared between threads
+     */
+    public LocalizedStringComparator getComparator(Locale locale) {
+        return new LocalizedStringComparator(locale, localeCatalog.getCollator(locale));
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a persistent {@link com.glebfox.jmix.locstr.datatype.LocalizedString} attribute whose values
+ * are indexed per locale by {@link LocalizedStringIndex} for full-text search. The entity must be
+ * annotated with {@link io.jmix.data.PublishEntityChangedEvents}, so that the index is updated when
+ * entities are saved or removed.
+ * <pre>
+ * &#64;FullTextIndexed
+ * &#64;Column(name = "NAME", nullable = false)
+ * private LocalizedString name;
+ * </pre>
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FullTextIndexed {
+}
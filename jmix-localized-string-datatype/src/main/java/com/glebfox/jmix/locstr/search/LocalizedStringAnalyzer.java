@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.DelegatingAnalyzerWrapper;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.analysis.de.GermanAnalyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.es.SpanishAnalyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.it.ItalianAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.nl.DutchAnalyzer;
+import org.apache.lucene.analysis.pt.PortugueseAnalyzer;
+import org.apache.lucene.analysis.ru.RussianAnalyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lucene analyzer of values indexed by {@link LocalizedStringIndex}. Each locale of an attribute is
+ * indexed in a separate field named by {@link #getFieldName(String, Locale)}, which is analyzed by
+ * the analyzer of the locale language, e.g. {@link EnglishAnalyzer} that removes stop words and
+ * reduces words to their stems. Chinese, Japanese and Korean texts are indexed as overlapping
+ * character pairs. Other languages are lower-cased and stripped of diacritical marks.
+ * <p>
+ * Override {@link #createAnalyzer(Locale)} to support other languages.
+ */
+@Component("locstr_LocalizedStringAnalyzer")
+public class LocalizedStringAnalyzer extends DelegatingAnalyzerWrapper {
+
+    protected static final char LOCALE_SEPARATOR = '@';
+
+    protected final Map<Locale, Analyzer> analyzers = new ConcurrentHashMap<>();
+
+    public LocalizedStringAnalyzer() {
+        super(PER_FIELD_REUSE_STRATEGY);
+    }
+
+    /**
+     * @param attribute an indexed attribute
+     * @param locale    a locale of values
+     * @return a name of the index field containing values of the attribute for the locale
+     */
+    public static String getFieldName(String attribute, Locale locale) {
+        return attribute + LOCALE_SEPARATOR + locale.toLanguageTag();
+    }
+
+    /**
+     * @param locale a locale of values
+     * @return an analyzer of values of the locale
+     */
+    public Analyzer getAnalyzer(Locale locale) {
+        return analyzers.computeIfAbsent(locale, this::createAnalyzer);
+    }
+
+    /**
+     * Splits the text into terms in the same way as indexed values.
+     *
+     * @param text   a text
+     * @param locale a locale of the text
+     * @return terms in the order of their occurrence
+     */
+    public List<String> analyze(@Nullable String text, Locale locale) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokenStream = getAnalyzer(locale).tokenStream("", text)) {
+            CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokenStream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to analyze " + text, e);
+        }
+        return terms;
+    }
+
+    @Override
+    protected Analyzer getWrappedAnalyzer(String fieldName) {
+        int index = fieldName.lastIndexOf(LOCALE_SEPARATOR);
+        return getAnalyzer(index >= 0 ? Locale.forLanguageTag(fieldName.substring(index + 1)) : Locale.ROOT);
+    }
+
+    protected Analyzer createAnalyzer(Locale locale) {
+        return switch (locale.getLanguage()) {
+            case "en" -> new EnglishAnalyzer();
+            case "de" -> new GermanAnalyzer();
+            case "fr" -> new FrenchAnalyzer();
+            case "es" -> new SpanishAnalyzer();
+            case "it" -> new ItalianAnalyzer();
+            case "pt" -> new PortugueseAnalyzer();
+            case "nl" -> new DutchAnalyzer();
+            case "ru" -> new RussianAnalyzer();
+            case "zh", "ja", "ko" -> new CJKAnalyzer();
+            default -> new FoldingAnalyzer();
+        };
+    }
+
+    @Override
+    public void close() {
+        analyzers.values().forEach(Analyzer::close);
+        super.close();
+    }
+
+    /**
+     * Analyzer of languages without specific rules.
+     */
+    protected static class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream tokenStream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, tokenStream);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
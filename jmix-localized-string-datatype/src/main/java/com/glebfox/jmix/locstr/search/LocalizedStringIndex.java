@@ -0,0 +1,577 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.search;
+
+import com.glebfox.jmix.locstr.LocstrProperties;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.locale.LocaleCatalog;
+import com.google.common.base.Strings;
+import io.jmix.core.CoreProperties;
+import io.jmix.core.FluentValuesLoader;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.querycondition.JpqlCondition;
+import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.data.PublishEntityChangedEvents;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.AnnotatedElement;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-text index of {@link LocalizedString} attributes annotated with {@link FullTextIndexed}, stored
+ * with Lucene in the {@code locstr.search-index-directory} directory. Each attribute is indexed separately
+ * for each locale using {@link LocalizedStringAnalyzer}, so a query matches only values of the requested
+ * locale.
+ * <p>
+ * The index survives restarts: an entity is indexed in background only if it isn't indexed yet, its
+ * set of indexed attributes has changed or the application wasn't shut down cleanly, since changes
+ * waiting for a flush are lost on a crash. Committed changes reported by {@link EntityChangedEvent} are
+ * applied and committed to the index in batches every {@code locstr.search-index-flush-interval}, so
+ * search results may lag behind by this interval. These events are published only for entities annotated
+ * with {@link PublishEntityChangedEvents}, so the annotation is required for entities having indexed
+ * attributes, otherwise the application fails to start. Changes made by other cluster nodes, directly in the
+ * database or while the application was stopped aren't tracked, use {@link #rebuild(MetaClass)} in such cases.
+ * <p>
+ * Found entity ids can be used in queries with {@link #createCondition(Class, Locale, String)}, e.g.
+ * together with conditions of a {@code genericFilter} in a {@code PreLoadEvent} handler of a data loader.
+ */
+@Component("locstr_LocalizedStringIndex")
+public class LocalizedStringIndex implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalizedStringIndex.class);
+
+    protected static final String IDS_PARAMETER = "locstrSearchIds";
+    // Oracle doesn't accept more than 1000 expressions in an IN list
+    protected static final int IN_LIST_SIZE = 500;
+    // changed when the structure of documents changes, so existing indexes are rebuilt
+    protected static final String INDEX_FORMAT = "1";
+    protected static final String ENTITY_COMMIT_DATA_PREFIX = "entity.";
+    // set when the index is closed after the last flush and cleared when it's opened
+    protected static final String CLEAN_SHUTDOWN_COMMIT_DATA = "cleanShutdown";
+
+    protected static final Set<Class<?>> SUPPORTED_ID_TYPES = Set.of(String.class, UUID.class, Long.class, Integer.class);
+
+    protected final UnconstrainedDataManager dataManager;
+    protected final Metadata metadata;
+    protected final MetadataTools metadataTools;
+    protected final SystemAuthenticator systemAuthenticator;
+    protected final LocaleCatalog localeCatalog;
+    protected final LocalizedStringAnalyzer analyzer;
+    protected final CoreProperties coreProperties;
+    protected final LocstrProperties properties;
+
+    protected final Map<MetaClass, EntityIndex> indexes = new ConcurrentHashMap<>();
+    protected final Queue<Change> pendingChanges = new ConcurrentLinkedQueue<>();
+    protected final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "locstr-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    protected volatile LuceneIndexStore store;
+    protected volatile boolean closing;
+    // the index is rebuilt on the next start if changes couldn't be applied
+    protected volatile boolean changesLost;
+
+    public LocalizedStringIndex(UnconstrainedDataManager dataManager,
+                                Metadata metadata,
+                                MetadataTools metadataTools,
+                                SystemAuthenticator systemAuthenticator,
+                                LocaleCatalog localeCatalog,
+                                LocalizedStringAnalyzer analyzer,
+                                CoreProperties coreProperties,
+                                LocstrProperties properties) {
+        this.dataManager = dataManager;
+        this.metadata = metadata;
+        this.metadataTools = metadataTools;
+        this.systemAuthenticator = systemAuthenticator;
+        this.localeCatalog = localeCatalog;
+        this.analyzer = analyzer;
+        this.coreProperties = coreProperties;
+        this.properties = properties;
+    }
+
+    @EventListener
+    public void onApplicationReady(final ApplicationReadyEvent event) {
+        for (MetaClass metaClass : metadata.getSession().getClasses()) {
+            if (!metadataTools.isJpaEntity(metaClass)) {
+                continue;
+            }
+
+            List<String> attributes = getIndexedAttributes(metaClass);
+            MetaProperty primaryKey = metadataTools.getPrimaryKeyProperty(metaClass);
+            if (attributes.isEmpty()) {
+                continue;
+            }
+            if (primaryKey == null || !SUPPORTED_ID_TYPES.contains(primaryKey.getJavaType())) {
+                log.warn("{} isn't indexed: only String, UUID, Long and Integer primary keys are supported",
+                        metaClass.getName());
+                continue;
+            }
+            if (!isPublishingChanges(metaClass)) {
+                // otherwise saved and removed entities never reach the index
+                throw new IllegalStateException(String.format("%s has attributes annotated with @FullTextIndexed " +
+                        "and must be annotated with @PublishEntityChangedEvents", metaClass.getName()));
+            }
+            indexes.put(metaClass, new EntityIndex(primaryKey.getName(), primaryKey.getJavaType(), attributes));
+        }
+        if (indexes.isEmpty()) {
+            return;
+        }
+
+        Path path = getIndexPath();
+        boolean cleanShutdown;
+        try {
+            store = new LuceneIndexStore(FSDirectory.open(path), analyzer);
+            cleanShutdown = Boolean.parseBoolean(store.getCommitData(CLEAN_SHUTDOWN_COMMIT_DATA));
+            store.setCommitData(CLEAN_SHUTDOWN_COMMIT_DATA, null);
+            store.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the full-text index in " + path, e);
+        }
+        if (!cleanShutdown) {
+            log.info("Full-text index in {} is new or wasn't closed cleanly, all entities will be indexed", path);
+        }
+
+        indexes.forEach((metaClass, index) -> {
+            if (cleanShutdown
+                    && index.getSignature().equals(store.getCommitData(ENTITY_COMMIT_DATA_PREFIX + metaClass.getName()))) {
+                index.ready = true;
+            } else {
+                executor.execute(() -> rebuildIndex(metaClass));
+            }
+        });
+
+        long interval = properties.getSearchIndexFlushInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        // interrupting Lucene I/O closes the index files, so running tasks are stopped by the flag
+        closing = true;
+        executor.shutdown();
+        if (store == null) {
+            return;
+        }
+
+        // changes committed by the application are applied before the index is closed
+        boolean terminated = executor.awaitTermination(1, TimeUnit.MINUTES);
+        flush();
+        if (terminated && !changesLost) {
+            store.setCommitData(CLEAN_SHUTDOWN_COMMIT_DATA, Boolean.TRUE.toString());
+            store.commit();
+        }
+        store.close();
+    }
+
+    /**
+     * @return entities having indexed attributes
+     */
+    public Set<MetaClass> getIndexedEntities() {
+        return Collections.unmodifiableSet(indexes.keySet());
+    }
+
+    /**
+     * @param metaClass a meta-class of an entity
+     * @return {@code true} if the initial build or the last rebuild of the entity index is completed
+     */
+    public boolean isReady(MetaClass metaClass) {
+        EntityIndex index = indexes.get(metaClass);
+        return index != null && index.ready;
+    }
+
+    /**
+     * Searches entities by all indexed attributes.
+     *
+     * @see #search(MetaClass, String, Locale, String, int)
+     */
+    public List<SearchHit> search(Class<?> entityClass, Locale locale, String text) {
+        return search(metadata.getClass(entityClass), null, locale, text, properties.getSearchMaxResults());
+    }
+
+    /**
+     * Searches entities whose values for the given locale contain all words of the text, each word in any
+     * of the searched attributes. The last word also matches words starting with it. Values are searched
+     * in the first available locale of the {@link LocaleCatalog#getFallbackChain(Locale) fallback chain}
+     * of the given locale.
+     *
+     * @param metaClass  a meta-class of an entity
+     * @param attribute  an indexed attribute or {@code null} to search by all indexed attributes
+     * @param locale     a locale of values
+     * @param text       a text to search
+     * @param maxResults the maximum number of returned hits
+     * @return hits ordered by relevance
+     */
+    public List<SearchHit> search(MetaClass metaClass, @Nullable String attribute, Locale locale,
+                                  String text, int maxResults) {
+        EntityIndex index = indexes.get(metaClass);
+        if (index == null) {
+            throw new IllegalArgumentException(metaClass.getName() + " has no attributes annotated with @FullTextIndexed");
+        }
+        if (attribute != null && !index.attributes.contains(attribute)) {
+            throw new IllegalArgumentException(metaClass.getName() + "." + attribute + " is not indexed");
+        }
+
+        Locale indexLocale = getIndexLocale(locale);
+        if (indexLocale == null || store == null) {
+            return List.of();
+        }
+
+        // a whitespace after the last word means that the word is complete
+        boolean prefixLast = !text.isEmpty() && !Character.isWhitespace(text.charAt(text.length() - 1));
+        try {
+            return store.search(metaClass.getName(), attribute != null ? List.of(attribute) : index.attributes,
+                            indexLocale, text, prefixLast, maxResults).stream()
+                    .map(hit -> new SearchHit(toId(index, (String) hit.id()), hit.score()))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to search " + metaClass.getName(), e);
+        }
+    }
+
+    /**
+     * Creates a condition selecting entities found by all indexed attributes.
+     *
+     * @see #createCondition(MetaClass, String, Locale, String)
+     */
+    public JpqlCondition createCondition(Class<?> entityClass, Locale locale, String text) {
+        return createCondition(metadata.getClass(entityClass), null, locale, text);
+    }
+
+    /**
+     * Creates a condition selecting entities found by {@link #search(MetaClass, String, Locale, String, int)}.
+     * <p>
+     * The condition contains ids of at most {@code locstr.search-max-results} most relevant entities.
+     * If it's combined with other conditions, e.g. of a {@code genericFilter}, entities matching both
+     * the text and the other conditions are loaded only if they are among these entities. Ids are passed
+     * in several IN lists of at most 500 elements, as some databases limit the size of an IN list.
+     * The condition doesn't define the order of loaded entities.
+     *
+     * @param metaClass a meta-class of an entity
+     * @param attribute an indexed attribute or {@code null} to search by all indexed attributes
+     * @param locale    a locale of values
+     * @param text      a text to search
+     * @return the JPQL condition
+     */
+    public JpqlCondition createCondition(MetaClass metaClass, @Nullable String attribute, Locale locale, String text) {
+        List<Object> ids = search(metaClass, attribute, locale, text, properties.getSearchMaxResults()).stream()
+                .map(SearchHit::id)
+                .toList();
+        if (ids.isEmpty()) {
+            // an empty IN list isn't supported by all databases
+            return JpqlCondition.create("1 = 0");
+        }
+
+        String primaryKey = indexes.get(metaClass).primaryKey;
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += IN_LIST_SIZE) {
+            String parameter = IDS_PARAMETER + conditions.size();
+            conditions.add("{E}." + primaryKey + " in :" + parameter);
+            parameters.put(parameter, new ArrayList<>(ids.subList(i, Math.min(i + IN_LIST_SIZE, ids.size()))));
+        }
+        String where = conditions.size() == 1
+                ? conditions.get(0)
+                : "(" + String.join(" or ", conditions) + ")";
+        return JpqlCondition.createWithParameters(where, null, parameters);
+    }
+
+    /**
+     * Rebuilds the index of the given entity in background. Until the rebuild is completed, searches
+     * use the previous state of the index.
+     *
+     * @param metaClass a meta-class of an entity
+     */
+    public void rebuild(MetaClass metaClass) {
+        if (!indexes.containsKey(metaClass)) {
+            throw new IllegalArgumentException(metaClass.getName() + " has no attributes annotated with @FullTextIndexed");
+        }
+        executor.execute(() -> rebuildIndex(metaClass));
+    }
+
+    @EventListener
+    public void onEntityChanged(final EntityChangedEvent<?> event) {
+        MetaClass metaClass = metadata.getClass(event.getEntityId().getEntityClass());
+        EntityIndex index = indexes.get(metaClass);
+        if (index == null) {
+            return;
+        }
+
+        if (event.getType() == EntityChangedEvent.Type.UPDATED
+                && index.attributes.stream().noneMatch(event.getChanges()::isChanged)) {
+            return;
+        }
+
+        Change change = new Change(metaClass, event.getEntityId().getValue(),
+                event.getType() == EntityChangedEvent.Type.DELETED);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingChanges.add(change);
+            return;
+        }
+
+        // the changed value is loaded by the flush, so it must be committed by then
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pendingChanges.add(change);
+            }
+        });
+    }
+
+    protected void flush() {
+        try {
+            Map<MetaClass, Map<Object, Boolean>> changes = new HashMap<>();
+            Change change;
+            while ((change = pendingChanges.poll()) != null) {
+                changes.computeIfAbsent(change.metaClass(), __ -> new LinkedHashMap<>())
+                        .put(change.id(), change.deleted());
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            changes.forEach((metaClass, entityChanges) ->
+                    systemAuthenticator.runWithSystem(() -> applyChanges(metaClass, entityChanges)));
+            store.commit();
+        } catch (IOException | RuntimeException e) {
+            // the scheduled flush must survive errors
+            changesLost = true;
+            log.error("Unable to update the full-text index", e);
+        }
+    }
+
+    protected void applyChanges(MetaClass metaClass, Map<Object, Boolean> changes) {
+        EntityIndex index = indexes.get(metaClass);
+        List<Object> updatedIds = new ArrayList<>();
+        changes.forEach((id, deleted) -> {
+            if (deleted) {
+                delete(metaClass, id);
+            } else {
+                updatedIds.add(id);
+            }
+        });
+
+        int batchSize = properties.getSearchIndexBatchSize();
+        for (int i = 0; i < updatedIds.size(); i += batchSize) {
+            List<Object> ids = updatedIds.subList(i, Math.min(i + batchSize, updatedIds.size()));
+            List<KeyValueEntity> values = dataManager.loadValues(createQuery(metaClass, index,
+                            "where e." + index.primaryKey + " in :ids"))
+                    .properties(index.getProperties())
+                    .parameter("ids", ids)
+                    .list();
+
+            Set<Object> missingIds = new HashSet<>(ids);
+            for (KeyValueEntity value : values) {
+                missingIds.remove(value.getValue(index.primaryKey));
+                indexValues(metaClass, index, value);
+            }
+            // removed in the meantime or hidden by soft deletion
+            missingIds.forEach(id -> delete(metaClass, id));
+        }
+        log.debug("Full-text index of {} updated: {} changes", metaClass.getName(), changes.size());
+    }
+
+    protected void rebuildIndex(MetaClass metaClass) {
+        if (closing) {
+            return;
+        }
+
+        EntityIndex index = indexes.get(metaClass);
+        String commitDataKey = ENTITY_COMMIT_DATA_PREFIX + metaClass.getName();
+        index.ready = false;
+        try {
+            // if the rebuild is interrupted, the entity is indexed again on the next start
+            store.setCommitData(commitDataKey, null);
+            store.deleteAll(metaClass.getName());
+            long indexed = systemAuthenticator.withSystem(() -> loadAll(metaClass, index));
+
+            store.setCommitData(commitDataKey, index.getSignature());
+            store.commit();
+            log.info("Full-text index of {} built: {} entities", metaClass.getName(), indexed);
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to build the full-text index of {}", metaClass.getName(), e);
+        } finally {
+            index.ready = true;
+        }
+    }
+
+    protected long loadAll(MetaClass metaClass, EntityIndex index) {
+        int batchSize = properties.getSearchIndexBatchSize();
+        long indexed = 0;
+        Object lastId = null;
+        while (true) {
+            // keyset pagination doesn't slow down on deep pages, unlike offsets
+            String where = lastId != null ? "where e." + index.primaryKey + " > :lastId" : "";
+            FluentValuesLoader loader = dataManager.loadValues(createQuery(metaClass, index, where
+                            + " order by e." + index.primaryKey))
+                    .properties(index.getProperties())
+                    .maxResults(batchSize);
+            if (lastId != null) {
+                loader = loader.parameter("lastId", lastId);
+            }
+
+            List<KeyValueEntity> values = loader.list();
+            for (KeyValueEntity value : values) {
+                indexValues(metaClass, index, value);
+            }
+
+            indexed += values.size();
+            if (values.size() < batchSize) {
+                return indexed;
+            }
+            if (closing) {
+                throw new IllegalStateException("Application is shutting down, "
+                        + metaClass.getName() + " will be indexed on the next start");
+            }
+            lastId = values.get(values.size() - 1).getValue(index.primaryKey);
+        }
+    }
+
+    protected String createQuery(MetaClass metaClass, EntityIndex index, String clauses) {
+        StringBuilder query = new StringBuilder("select e.").append(index.primaryKey);
+        for (String attribute : index.attributes) {
+            query.append(", e.").append(attribute);
+        }
+        return query.append(" from ").append(metaClass.getName()).append(" e ").append(clauses).toString();
+    }
+
+    protected void indexValues(MetaClass metaClass, EntityIndex index, KeyValueEntity values) {
+        Map<String, LocalizedString> attributeValues = new HashMap<>();
+        for (String attribute : index.attributes) {
+            LocalizedString value = values.getValue(attribute);
+            if (value != null) {
+                attributeValues.put(attribute, value);
+            }
+        }
+
+        Object id = values.getValue(index.primaryKey);
+        try {
+            store.update(metaClass.getName(), String.valueOf(id), attributeValues);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to index " + metaClass.getName() + " " + id, e);
+        }
+    }
+
+    protected void delete(MetaClass metaClass, Object id) {
+        try {
+            store.delete(metaClass.getName(), String.valueOf(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to remove " + metaClass.getName() + " " + id + " from the index", e);
+        }
+    }
+
+    protected Object toId(EntityIndex index, String id) {
+        if (UUID.class.equals(index.primaryKeyType)) {
+            return UUID.fromString(id);
+        } else if (Long.class.equals(index.primaryKeyType)) {
+            return Long.valueOf(id);
+        } else if (Integer.class.equals(index.primaryKeyType)) {
+            return Integer.valueOf(id);
+        }
+        return id;
+    }
+
+    protected Path getIndexPath() {
+        String directory = properties.getSearchIndexDirectory();
+        return !Strings.isNullOrEmpty(directory)
+                ? Path.of(directory)
+                : Path.of(coreProperties.getWorkDir(), "locstr", "search-index");
+    }
+
+    @Nullable
+    protected Locale getIndexLocale(Locale locale) {
+        List<Locale> chain = localeCatalog.getFallbackChain(locale);
+        return chain.isEmpty() ? null : chain.get(0);
+    }
+
+    protected boolean isPublishingChanges(MetaClass metaClass) {
+        PublishEntityChangedEvents annotation = metaClass.getJavaClass().getAnnotation(PublishEntityChangedEvents.class);
+        return annotation != null && annotation.created() && annotation.updated() && annotation.deleted();
+    }
+
+    protected List<String> getIndexedAttributes(MetaClass metaClass) {
+        List<String> attributes = new ArrayList<>();
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            AnnotatedElement annotatedElement = metaProperty.getAnnotatedElement();
+            if (annotatedElement == null || !annotatedElement.isAnnotationPresent(FullTextIndexed.class)) {
+                continue;
+            }
+
+            if (!metaProperty.getRange().isDatatype()
+                    || !LocalizedString.class.equals(metaProperty.getRange().asDatatype().getJavaClass())) {
+                throw new IllegalStateException(String.format("%s.%s annotated with @FullTextIndexed " +
+                        "must be LocalizedString", metaClass.getName(), metaProperty.getName()));
+            }
+            attributes.add(metaProperty.getName());
+        }
+        return attributes;
+    }
+
+    protected static class EntityIndex {
+
+        protected final String primaryKey;
+        protected final Class<?> primaryKeyType;
+        protected final List<String> attributes;
+        protected volatile boolean ready;
+
+        protected EntityIndex(String primaryKey, Class<?> primaryKeyType, List<String> attributes) {
+            this.primaryKey = primaryKey;
+            this.primaryKeyType = primaryKeyType;
+            this.attributes = List.copyOf(attributes);
+        }
+
+        protected List<String> getProperties() {
+            List<String> properties = new ArrayList<>(attributes.size() + 1);
+            properties.add(primaryKey);
+            properties.addAll(attributes);
+            return properties;
+        }
+
+        /**
+         * @return a string identifying indexed attributes and the document structure
+         */
+        protected String getSignature() {
+            return INDEX_FORMAT + ":" + String.join(",", attributes);
+        }
+    }
+
+    protected record Change(MetaClass metaClass, Object id, boolean deleted) {
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.search;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.springframework.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lucene index of {@link LocalizedString} values of all indexed entities, one document per entity.
+ * Changes become visible to searches and durable when {@link #commit()} is called. The commit also
+ * stores user data set by {@link #setCommitData(String, String)}, which is available after reopening
+ * the index.
+ * <p>
+ * Methods may be called concurrently, but changes are expected to be made by a single thread.
+ */
+public class LuceneIndexStore implements Closeable {
+
+    protected static final String ENTITY_FIELD = "_entity";
+    protected static final String KEY_FIELD = "_key";
+    protected static final String ID_FIELD = "_id";
+
+    protected final Directory directory;
+    protected final LocalizedStringAnalyzer analyzer;
+    protected final IndexWriter writer;
+    protected final SearcherManager searcherManager;
+    protected final Map<String, String> commitData = new ConcurrentHashMap<>();
+
+    /**
+     * Opens an existing index in the directory or creates a new one.
+     *
+     * @param directory a directory of the index, closed together with the store
+     * @param analyzer  an analyzer of indexed values
+     */
+    public LuceneIndexStore(Directory directory, LocalizedStringAnalyzer analyzer) throws IOException {
+        this.directory = directory;
+        this.analyzer = analyzer;
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        Iterable<Map.Entry<String, String>> lastCommitData = writer.getLiveCommitData();
+        if (lastCommitData != null) {
+            lastCommitData.forEach(entry -> commitData.put(entry.getKey(), entry.getValue()));
+        }
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * @param key a key of user data
+     * @return a value set before the last commit or {@code null}
+     */
+    @Nullable
+    public String getCommitData(String key) {
+        return commitData.get(key);
+    }
+
+    /**
+     * Sets user data stored with the next commit.
+     *
+     * @param key   a key of user data
+     * @param value a value or {@code null} to remove the key
+     */
+    public void setCommitData(String key, @Nullable String value) {
+        if (value != null) {
+            commitData.put(key, value);
+        } else {
+            commitData.remove(key);
+        }
+    }
+
+    /**
+     * Adds or replaces a document of an entity.
+     *
+     * @param entityName a name of an entity
+     * @param id         a string representation of an entity id
+     * @param values     values of indexed attributes by attribute names
+     */
+    public void update(String entityName, String id, Map<String, LocalizedString> values) throws IOException {
+        String key = getKey(entityName, id);
+        Document document = new Document();
+        document.add(new StringField(ENTITY_FIELD, entityName, Field.Store.NO));
+        document.add(new StringField(KEY_FIELD, key, Field.Store.NO));
+        document.add(new StoredField(ID_FIELD, id));
+        values.forEach((attribute, value) -> {
+            for (Locale locale : value.getLocales()) {
+                String text = value.getValue(locale);
+                if (!text.isBlank()) {
+                    document.add(new TextField(LocalizedStringAnalyzer.getFieldName(attribute, locale),
+                            text, Field.Store.NO));
+                }
+            }
+        });
+        writer.updateDocument(new Term(KEY_FIELD, key), document);
+    }
+
+    /**
+     * Removes a document of an entity.
+     *
+     * @param entityName a name of an entity
+     * @param id         a string representation of an entity id
+     */
+    public void delete(String entityName, String id) throws IOException {
+        writer.deleteDocuments(new Term(KEY_FIELD, getKey(entityName, id)));
+    }
+
+    /**
+     * Removes documents of all entities with the given name.
+     *
+     * @param entityName a name of an entity
+     */
+    public void deleteAll(String entityName) throws IOException {
+        writer.deleteDocuments(new Term(ENTITY_FIELD, entityName));
+    }
+
+    /**
+     * Persists changes and the user data, and makes changes visible to searches.
+     */
+    public void commit() throws IOException {
+        writer.setLiveCommitData(new HashMap<>(commitData).entrySet());
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Searches documents of an entity whose values of the given attributes for the locale contain
+     * all words of the text, each in any of the attributes.
+     *
+     * @param entityName a name of an entity
+     * @param attributes attributes to search in
+     * @param locale     a locale of values
+     * @param text       a text to search
+     * @param prefixLast whether the last word also matches words starting with it
+     * @param maxResults the maximum number of returned hits
+     * @return hits ordered by relevance, ids are string representations
+     */
+    public List<SearchHit> search(String entityName, Collection<String> attributes, Locale locale,
+                                  String text, boolean prefixLast, int maxResults) throws IOException {
+        Query query = createQuery(entityName, attributes, locale, text, prefixLast);
+        if (query == null || maxResults <= 0) {
+            return List.of();
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, maxResults);
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                String id = storedFields.document(scoreDoc.doc, Set.of(ID_FIELD)).get(ID_FIELD);
+                hits.add(new SearchHit(id, scoreDoc.score));
+            }
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Nullable
+    protected Query createQuery(String entityName, Collection<String> attributes, Locale locale,
+                                String text, boolean prefixLast) {
+        List<String> terms = analyzer.analyze(text, locale);
+        if (terms.isEmpty() || attributes.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(ENTITY_FIELD, entityName)), BooleanClause.Occur.FILTER);
+        for (int i = 0; i < terms.size(); i++) {
+            boolean prefix = prefixLast && i == terms.size() - 1;
+            BooleanQuery.Builder termQuery = new BooleanQuery.Builder();
+            for (String attribute : attributes) {
+                Term term = new Term(LocalizedStringAnalyzer.getFieldName(attribute, locale), terms.get(i));
+                termQuery.add(prefix ? new PrefixQuery(term) : new TermQuery(term), BooleanClause.Occur.SHOULD);
+            }
+            query.add(termQuery.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    protected String getKey(String entityName, String id) {
+        return entityName + ':' + id;
+    }
+
+    /**
+     * Commits pending changes and closes the index.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+}
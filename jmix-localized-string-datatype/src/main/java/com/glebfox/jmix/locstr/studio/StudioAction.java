@@ -48,6 +48,9 @@ public interface StudioAction {
                             defaultValue = "false"),
                     @StudioPropertiesItem(xmlAttribute = "checkForUnsavedChanges", type = StudioPropertyType.BOOLEAN,
                             defaultValue = "true"),
+                    @StudioPropertiesItem(xmlAttribute = "layoutMode", type = StudioPropertyType.ENUMERATION,
+                            classFqn = "com.glebfox.jmix.locstr.action.EditorLayoutMode",
+                            defaultValue = "LIST", options = {"LIST", "TABS"}),
 
                     /* Dialog */
                     @StudioPropertiesItem(xmlAttribute = "width", type = StudioPropertyType.SIZE,
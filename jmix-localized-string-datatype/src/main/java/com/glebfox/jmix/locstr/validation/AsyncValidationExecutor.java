@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.validation;
+
+import com.glebfox.jmix.locstr.LocstrProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Executes {@link AsyncValidator}s in background threads.
+ * <p>
+ * Tasks are started after the debounce delay defined by
+ * {@link LocstrProperties#getAsyncValidationDebounce()}, so a task cancelled during
+ * this delay is not executed at all. A task that is not completed within
+ * {@link LocstrProperties#getAsyncValidationTimeout()} after the delay is timed out.
+ * The number of concurrently executed and queued tasks is bounded. Virtual threads are used if supported by the JVM.
+ */
+@Component("locstr_AsyncValidationExecutor")
+public class AsyncValidationExecutor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncValidationExecutor.class);
+
+    protected final LocstrProperties properties;
+    protected final ScheduledThreadPoolExecutor scheduler;
+    protected final ExecutorService executorService;
+
+    public AsyncValidationExecutor(LocstrProperties properties) {
+        this.properties = properties;
+        this.scheduler = createScheduler();
+        this.executorService = createExecutorService();
+    }
+
+    /**
+     * Submits a task that is executed after the debounce delay. Cancelling the returned
+     * future before the task is started prevents its execution.
+     *
+     * @param task a task to execute
+     * @param <T>  the task result type
+     * @return a future that is completed with the task result, or completed exceptionally
+     * if the task fails or cannot be accepted for execution, or with {@link TimeoutException}
+     * if the task is not completed in time
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        long debounce = properties.getAsyncValidationDebounce().toMillis();
+        ScheduledFuture<?> scheduledFuture = scheduler.schedule(() -> {
+            if (future.isDone()) {
+                return;
+            }
+
+            try {
+                executorService.execute(() -> execute(task, future, securityContext));
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+            }
+        }, debounce, TimeUnit.MILLISECONDS);
+
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled() || throwable instanceof TimeoutException) {
+                scheduledFuture.cancel(false);
+            }
+        });
+
+        // a task that is already running is not interrupted, its result is ignored
+        return future.orTimeout(debounce + properties.getAsyncValidationTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    protected <T> void execute(Supplier<T> task, CompletableFuture<T> future, SecurityContext securityContext) {
+        if (future.isDone()) {
+            return;
+        }
+
+        SecurityContext previousContext = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            future.complete(task.get());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            SecurityContextHolder.setContext(previousContext);
+        }
+    }
+
+    protected ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "locstr-async-validation-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    protected ExecutorService createExecutorService() {
+        int threads = properties.getAsyncValidationThreads();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getAsyncValidationQueueCapacity()),
+                createThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    protected ThreadFactory createThreadFactory() {
+        try {
+            // Thread.ofVirtual() is available since Java 21
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method nameMethod = builderClass.getMethod("name", String.class, long.class);
+            builder = nameMethod.invoke(builder, "locstr-async-validation-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            log.debug("Virtual threads are not available, platform threads are used for async validation");
+        }
+
+        ThreadFactory defaultThreadFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaultThreadFactory.newThread(runnable);
+            thread.setName("locstr-async-validation-" + thread.getId());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.validation;
+
+import com.glebfox.jmix.locstr.action.LocalizedStringEditAction;
+
+import java.util.function.Consumer;
+
+/**
+ * A functional interface for validating user input asynchronously when {@link LocalizedStringEditAction}
+ * is used. Suitable for slow checks, e.g. database queries.
+ * <p>
+ * Validators are executed in a background thread with the security context of the current user,
+ * so they must not access UI components.
+ *
+ * @see AsyncValidationExecutor
+ */
+@FunctionalInterface
+public interface AsyncValidator extends Consumer<ValidationContext> {
+}
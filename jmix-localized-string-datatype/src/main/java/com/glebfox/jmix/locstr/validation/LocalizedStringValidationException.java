@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.validation;
+
+import io.jmix.flowui.exception.ValidationException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown when {@link LocalizedStringValidator} finds violations.
+ */
+public class LocalizedStringValidationException extends ValidationException {
+
+    protected final List<LocalizedStringViolation> violations;
+
+    public LocalizedStringValidationException(List<LocalizedStringViolation> violations) {
+        super(violations.stream()
+                .map(violation -> violation.locale() != null
+                        ? violation.locale() + ": " + violation.message()
+                        : violation.message())
+                .collect(Collectors.joining("\n")));
+
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * @return violations found by a validator
+     */
+    public List<LocalizedStringViolation> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.validation;
+
+import com.glebfox.jmix.locstr.action.LocalizedStringEditAction;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+
+import java.util.List;
+
+/**
+ * A functional interface for validating a complete {@link LocalizedString} value at once,
+ * e.g. to check rules involving several locales or to validate all locales
+ * with a single database query.
+ * <p>
+ * Used by {@link LocalizedStringEditAction} when a value is saved, and can be invoked
+ * directly, e.g. when data is imported.
+ */
+@FunctionalInterface
+public interface LocalizedStringValidator {
+
+    /**
+     * Validates the given value.
+     *
+     * @param value a value to validate
+     * @return violations found, or an empty list if the value is correct
+     */
+    List<LocalizedStringViolation> validate(LocalizedString value);
+
+    /**
+     * Validates the given value and throws an exception if it is incorrect.
+     *
+     * @param value a value to validate
+     * @throws LocalizedStringValidationException if violations are found
+     */
+    default void check(LocalizedString value) {
+        List<LocalizedStringViolation> violations = validate(value);
+        if (!violations.isEmpty()) {
+            throw new LocalizedStringValidationException(violations);
+        }
+    }
+}
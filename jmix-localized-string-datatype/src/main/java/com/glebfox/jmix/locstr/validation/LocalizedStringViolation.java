@@ -0,0 +1,31 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.validation;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Describes a violation found by {@link LocalizedStringValidator}.
+ *
+ * @param locale  a locale whose value is incorrect, or {@code null} if the violation
+ *                relates to the whole value
+ * @param message an error message
+ */
+public record LocalizedStringViolation(@Nullable Locale locale, String message) {
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.view.backfill;
+
+import com.glebfox.jmix.locstr.backfill.LocaleBackfill;
+import com.glebfox.jmix.locstr.backfill.LocaleBackfillJob;
+import com.glebfox.jmix.locstr.backfill.LocaleBackfillMode;
+import com.glebfox.jmix.locstr.locale.LocaleCatalog;
+import com.vaadin.flow.component.AbstractField;
+import com.vaadin.flow.component.ClickEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.router.Route;
+import io.jmix.flowui.Notifications;
+import io.jmix.flowui.component.combobox.JmixComboBox;
+import io.jmix.flowui.facet.Timer;
+import io.jmix.flowui.kit.component.button.JmixButton;
+import io.jmix.flowui.view.*;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
+@Route(value = "locstr/locale-backfill", layout = DefaultMainViewParent.class)
+@ViewController("locstr_LocaleBackfillView")
+@ViewDescriptor("locale-backfill-view.xml")
+public class LocaleBackfillView extends StandardView {
+
+    @ViewComponent
+    private JmixComboBox<Locale> localeField;
+    @ViewComponent
+    private JmixComboBox<LocaleBackfillMode> modeField;
+    @ViewComponent
+    private JmixComboBox<Locale> sourceLocaleField;
+    @ViewComponent
+    private VerticalLayout gridContainer;
+    @ViewComponent
+    private MessageBundle messageBundle;
+
+    @Autowired
+    private LocaleBackfill localeBackfill;
+    @Autowired
+    private LocaleCatalog localeCatalog;
+    @Autowired
+    private Notifications notifications;
+
+    private Grid<LocaleBackfillJob> jobsGrid;
+
+    @Subscribe
+    public void onInit(final InitEvent event) {
+        localeField.setItems(localeCatalog.getLocales());
+        localeField.setItemLabelGenerator(localeCatalog::getDisplayName);
+        sourceLocaleField.setItems(localeCatalog.getLocales());
+        sourceLocaleField.setItemLabelGenerator(localeCatalog::getDisplayName);
+
+        modeField.setItems(Arrays.asList(LocaleBackfillMode.values()));
+        modeField.setItemLabelGenerator(mode -> messageBundle.getMessage("localeBackfillView.mode." + mode.name()));
+        modeField.setValue(LocaleBackfillMode.COPY_SOURCE);
+
+        jobsGrid = createJobsGrid();
+        gridContainer.add(jobsGrid);
+        loadJobs();
+    }
+
+    protected Grid<LocaleBackfillJob> createJobsGrid() {
+        Grid<LocaleBackfillJob> grid = new Grid<>();
+        grid.setWidthFull();
+        grid.addColumn(job -> localeCatalog.getDisplayName(job.getLocale()))
+                .setHeader(messageBundle.getMessage("localeBackfillView.locale"));
+        grid.addColumn(job -> messageBundle.getMessage("localeBackfillView.mode." + job.getMode().name())
+                        + (job.getSourceLocale() != null ? ": " + localeCatalog.getDisplayName(job.getSourceLocale()) : ""))
+                .setHeader(messageBundle.getMessage("localeBackfillView.mode"));
+        grid.addColumn(job -> messageBundle.getMessage("localeBackfillView.status." + job.getStatus().name()))
+                .setHeader(messageBundle.getMessage("localeBackfillView.status"));
+        grid.addComponentColumn(this::createProgressBar)
+                .setHeader(messageBundle.getMessage("localeBackfillView.progress"))
+                .setFlexGrow(2);
+        grid.addColumn(job -> job.getProcessedRows() + " / " + job.getTotalRows())
+                .setHeader(messageBundle.getMessage("localeBackfillView.processed"));
+        grid.addColumn(LocaleBackfillJob::getUpdatedRows)
+                .setHeader(messageBundle.getMessage("localeBackfillView.updated"));
+        grid.addColumn(LocaleBackfillJob::getConflictedRows)
+                .setHeader(messageBundle.getMessage("localeBackfillView.conflicted"));
+        grid.addColumn(job -> job.getError() != null ? job.getError() : job.getCurrentAttribute())
+                .setHeader(messageBundle.getMessage("localeBackfillView.details"))
+                .setFlexGrow(2);
+        grid.addComponentColumn(this::createJobButton);
+        return grid;
+    }
+
+    protected Component createProgressBar(LocaleBackfillJob job) {
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setValue(job.getProgress());
+        progressBar.setIndeterminate(job.getStatus() == LocaleBackfillJob.Status.RUNNING && job.getTotalRows() == 0);
+        return progressBar;
+    }
+
+    protected Component createJobButton(LocaleBackfillJob job) {
+        Button button = new Button();
+        button.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
+        if (job.isActive()) {
+            button.setText(messageBundle.getMessage("localeBackfillView.cancel"));
+            button.addClickListener(__ -> {
+                localeBackfill.cancel(job);
+                loadJobs();
+            });
+        } else if (job.getStatus() != LocaleBackfillJob.Status.COMPLETED) {
+            button.setText(messageBundle.getMessage("localeBackfillView.resume"));
+            button.addClickListener(__ -> {
+                localeBackfill.resume(job);
+                loadJobs();
+            });
+        } else {
+            button.setVisible(false);
+        }
+        return button;
+    }
+
+    @Subscribe("modeField")
+    public void onModeFieldComponentValueChange(
+            final AbstractField.ComponentValueChangeEvent<JmixComboBox<LocaleBackfillMode>, LocaleBackfillMode> event) {
+        sourceLocaleField.setEnabled(event.getValue() == LocaleBackfillMode.COPY_SOURCE);
+    }
+
+    @Subscribe(id = "startBtn", subject = "clickListener")
+    public void onStartBtnClick(final ClickEvent<JmixButton> event) {
+        Locale locale = localeField.getValue();
+        LocaleBackfillMode mode = modeField.getValue();
+        Locale sourceLocale = sourceLocaleField.getValue();
+        if (locale == null || mode == null
+                || (mode == LocaleBackfillMode.COPY_SOURCE && (sourceLocale == null || sourceLocale.equals(locale)))) {
+            notifications.create(messageBundle.getMessage("localeBackfillView.invalidParameters"))
+                    .withType(Notifications.Type.WARNING)
+                    .show();
+            return;
+        }
+
+        localeBackfill.start(locale, mode, sourceLocale);
+        loadJobs();
+    }
+
+    @Subscribe("refreshTimer")
+    public void onRefreshTimerTimerAction(final Timer.TimerActionEvent event) {
+        jobsGrid.getDataProvider().refreshAll();
+    }
+
+    protected void loadJobs() {
+        jobsGrid.setItems(localeBackfill.getJobs().stream()
+                .sorted(Comparator.comparing(LocaleBackfillJob::getCreateTs).reversed())
+                .toList());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.view.coverage;
+
+import com.glebfox.jmix.locstr.coverage.TranslationCoverage;
+import com.glebfox.jmix.locstr.coverage.TranslationCoverageService;
+import com.vaadin.flow.component.AbstractField;
+import com.vaadin.flow.component.ClickEvent;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.router.Route;
+import io.jmix.core.MessageTools;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.flowui.component.combobox.JmixComboBox;
+import io.jmix.flowui.kit.component.button.JmixButton;
+import io.jmix.flowui.view.*;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Collections;
+import java.util.List;
+
+@Route(value = "locstr/translation-coverage", layout = DefaultMainViewParent.class)
+@ViewController("locstr_TranslationCoverageView")
+@ViewDescriptor("translation-coverage-view.xml")
+public class TranslationCoverageView extends StandardView {
+
+    @ViewComponent
+    private JmixComboBox<MetaClass> entityField;
+    @ViewComponent
+    private VerticalLayout gridContainer;
+    @ViewComponent
+    private MessageBundle messageBundle;
+
+    @Autowired
+    private TranslationCoverageService translationCoverageService;
+    @Autowired
+    private MessageTools messageTools;
+
+    private Grid<TranslationCoverage> coverageGrid;
+
+    @Subscribe
+    public void onInit(final InitEvent event) {
+        entityField.setItemLabelGenerator(metaClass ->
+                messageTools.getEntityCaption(metaClass) + " (" + metaClass.getName() + ")");
+        entityField.setItems(translationCoverageService.getEntities());
+
+        coverageGrid = createCoverageGrid();
+        gridContainer.add(coverageGrid);
+    }
+
+    protected Grid<TranslationCoverage> createCoverageGrid() {
+        Grid<TranslationCoverage> grid = new Grid<>();
+        grid.setWidthFull();
+        grid.addColumn(coverage -> entityField.getValue() != null
+                        ? messageTools.getPropertyCaption(entityField.getValue(), coverage.attribute())
+                        : coverage.attribute())
+                .setHeader(messageBundle.getMessage("translationCoverageView.attribute"))
+                .setSortable(true);
+        grid.addColumn(coverage -> messageTools.getLocaleDisplayName(coverage.locale()))
+                .setHeader(messageBundle.getMessage("translationCoverageView.locale"))
+                .setSortable(true);
+        grid.addColumn(TranslationCoverage::translated)
+                .setHeader(messageBundle.getMessage("translationCoverageView.translated"))
+                .setSortable(true);
+        grid.addColumn(TranslationCoverage::total)
+                .setHeader(messageBundle.getMessage("translationCoverageView.total"));
+        grid.addColumn(coverage -> String.format("%.1f%%", coverage.getRatio() * 100))
+                .setHeader(messageBundle.getMessage("translationCoverageView.coverage"))
+                .setComparator(TranslationCoverage::getRatio)
+                .setSortable(true);
+        return grid;
+    }
+
+    @Subscribe("entityField")
+    public void onEntityFieldComponentValueChange(
+            final AbstractField.ComponentValueChangeEvent<JmixComboBox<MetaClass>, MetaClass> event) {
+        loadCoverage();
+    }
+
+    @Subscribe(id = "refreshBtn", subject = "clickListener")
+    public void onRefreshBtnClick(final ClickEvent<JmixButton> event) {
+        MetaClass metaClass = entityField.getValue();
+        if (metaClass != null) {
+            translationCoverageService.refresh(metaClass);
+        }
+        loadCoverage();
+    }
+
+    protected void loadCoverage() {
+        MetaClass metaClass = entityField.getValue();
+        List<TranslationCoverage> coverage = metaClass != null
+                ? translationCoverageService.getCoverage(metaClass)
+                : Collections.emptyList();
+        coverageGrid.setItems(coverage);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import {css, html, LitElement} from 'lit';
+import '@vaadin/tabs';
+import '@vaadin/text-area';
+import '@vaadin/text-field';
+
+/**
+ * Edits values of all locales of a localized string. Switching between locales
+ * is performed on the client side. Values of edited locales are sent to the
+ * server as a delta in the 'locstr-values-changed' event when an input is committed.
+ */
+class LocalizedStringField extends LitElement {
+
+    static get is() {
+        return 'localized-string-field';
+    }
+
+    static get properties() {
+        return {
+            label: {type: String},
+            locales: {type: Array},
+            values: {type: Object},
+            locale: {type: String},
+            multiline: {type: Boolean},
+            readonly: {type: Boolean, reflect: true},
+            disabled: {type: Boolean, reflect: true}
+        };
+    }
+
+    static get styles() {
+        return css`
+            :host {
+                display: inline-flex;
+                flex-direction: column;
+            }
+
+            :host([hidden]) {
+                display: none !important;
+            }
+
+            [part='label'] {
+                color: var(--lumo-secondary-text-color);
+                font-size: var(--lumo-font-size-s);
+                font-weight: 500;
+            }
+
+            vaadin-text-field,
+            vaadin-text-area {
+                width: 100%;
+            }
+        `;
+    }
+
+    constructor() {
+        super();
+        this.locales = [];
+        this.values = {};
+        this.multiline = false;
+        this.readonly = false;
+        this.disabled = false;
+        this._delta = {};
+    }
+
+    render() {
+        const selectedIndex = Math.max(0, this.locales.findIndex(locale => locale.tag === this.locale));
+        const value = this.values[this.locale] ?? '';
+
+        return html`
+            ${this.label ? html`<label part="label">${this.label}</label>` : ''}
+            <vaadin-tabs part="tabs" theme="small" .selected=${selectedIndex}
+                         @selected-changed=${this._onSelectedChanged}>
+                ${this.locales.map(locale => html`<vaadin-tab>${locale.label}</vaadin-tab>`)}
+            </vaadin-tabs>
+            ${this.multiline
+                    ? html`<vaadin-text-area part="input" .value=${value} ?readonly=${this.readonly}
+                                             ?disabled=${this.disabled}
+                                             @input=${this._onInput} @change=${this._onChange}>
+                    </vaadin-text-area>`
+                    : html`<vaadin-text-field part="input" .value=${value} ?readonly=${this.readonly}
+                                              ?disabled=${this.disabled}
+                                              @input=${this._onInput} @change=${this._onChange}>
+                    </vaadin-text-field>`}
+        `;
+    }
+
+    _onSelectedChanged(event) {
+        const locale = this.locales[event.detail.value];
+        if (locale && locale.tag !== this.locale) {
+            this._commit();
+            this.locale = locale.tag;
+        }
+    }
+
+    _onInput(event) {
+        this.values = {...this.values, [this.locale]: event.target.value};
+        this._delta[this.locale] = event.target.value;
+    }
+
+    _onChange() {
+        this._commit();
+    }
+
+    _commit() {
+        if (Object.keys(this._delta).length === 0) {
+            return;
+        }
+
+        const delta = this._delta;
+        this._delta = {};
+        this.dispatchEvent(new CustomEvent('locstr-values-changed', {detail: {delta}}));
+    }
+}
+
+customElements.define(LocalizedStringField.is, LocalizedStringField);
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.action.LocalizedStringEditAction;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.datatype.LocalizedStringConverter;
+import com.glebfox.jmix.locstr.datatype.LocalizedStringDatatype;
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that hot paths don't allocate more memory per operation than budgets configured
+ * in {@code allocation-budgets.properties}. If a change reduces allocations, lower the budget.
+ */
+@SpringBootTest(properties = "jmix.core.available-locales=en,ru_RU,de,fr,es")
+public class AllocationBudgetTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 10_000;
+
+    private static final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Properties budgets;
+    private static LocalizedString value;
+
+    // keeps results reachable, so allocations aren't eliminated
+    private static Object sink;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "Allocated memory measurement isn't supported");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        budgets = new Properties();
+        try (InputStream stream = AllocationBudgetTest.class.getResourceAsStream("allocation-budgets.properties")) {
+            budgets.load(stream);
+        }
+
+        Map<Locale, String> values = new HashMap<>();
+        for (String tag : new String[]{"en", "ru-RU", "de", "fr", "es"}) {
+            values.put(Locale.forLanguageTag(tag), "Product description value " + tag);
+        }
+        value = new LocalizedString(values);
+    }
+
+    @Test
+    void encode() {
+        LocalizedStringConverter converter = new LocalizedStringConverter();
+        assertWithinBudget("encode", () -> converter.convertToDatabaseColumn(value));
+    }
+
+    @Test
+    void decode() {
+        LocalizedStringConverter converter = new LocalizedStringConverter();
+        String json = converter.convertToDatabaseColumn(value);
+        assertWithinBudget("decode", () -> converter.convertToEntityAttribute(json));
+    }
+
+    @Test
+    void format() {
+        LocalizedStringDatatype datatype = new LocalizedStringDatatype();
+        assertWithinBudget("format", () -> datatype.format(value, Locale.GERMAN));
+    }
+
+    @Test
+    void parse() {
+        LocalizedStringDatatype datatype = new LocalizedStringDatatype();
+        assertWithinBudget("parse", () -> {
+            try {
+                return datatype.parse("Produktbeschreibung", Locale.GERMAN);
+            } catch (java.text.ParseException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Test
+    void editorOpen() {
+        TestLocalizedStringEditAction action = new TestLocalizedStringEditAction();
+        applicationContext.getAutowireCapableBeanFactory().autowireBean(action);
+
+        // the first opening creates the dialog and a field for each of 5 available locales
+        assertWithinBudget("editorOpen", action::createDialogAndContent);
+    }
+
+    private void assertWithinBudget(String operation, Supplier<Object> supplier) {
+        long budget = Long.parseLong(budgets.getProperty(operation));
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = supplier.get();
+        }
+
+        long start = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = supplier.get();
+        }
+        long allocated = (threadMXBean.getCurrentThreadAllocatedBytes() - start) / ITERATIONS;
+
+        assertThat(allocated)
+                .as("Bytes allocated per '%s' operation", operation)
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private static class TestLocalizedStringEditAction extends LocalizedStringEditAction {
+
+        Object createDialogAndContent() {
+            // the dialog and fields are kept between openings, so they are created again as on the first one
+            dialog = null;
+            fieldCache = null;
+            getDialog();
+            return createContent();
+        }
+
+        @Nullable
+        @Override
+        protected MetaPropertyPath findMetaPropertyPath() {
+            // the action has no target
+            return null;
+        }
+    }
+}
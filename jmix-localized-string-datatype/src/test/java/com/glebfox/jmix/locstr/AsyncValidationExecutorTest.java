@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.validation.AsyncValidationExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncValidationExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncValidationExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.destroy();
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void debounceTest() throws Exception {
+        executor = createExecutor(1, 10, Duration.ofMillis(200), Duration.ofSeconds(10));
+        AtomicInteger executions = new AtomicInteger();
+
+        // a task cancelled during the delay, e.g. by the next value change, is not executed
+        CompletableFuture<Integer> cancelled = executor.submit(executions::incrementAndGet);
+        cancelled.cancel(false);
+
+        long start = System.nanoTime();
+        CompletableFuture<Integer> completed = executor.submit(executions::incrementAndGet);
+
+        assertThat(completed.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void rejectionTest() throws Exception {
+        executor = createExecutor(1, 1, Duration.ZERO, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<String> running = executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = executor.submit(() -> "queued");
+        // the only thread is busy and the queue is full
+        CompletableFuture<String> rejected = executor.submit(() -> "rejected");
+
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    void timeoutTest() {
+        executor = createExecutor(1, 10, Duration.ZERO, Duration.ofMillis(100));
+
+        CompletableFuture<String> future = executor.submit(() -> {
+            await(release);
+            return "late";
+        });
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void securityContextTest() throws Exception {
+        executor = createExecutor(1, 10, Duration.ZERO, Duration.ofSeconds(10));
+        Authentication authentication = new TestingAuthenticationToken("user", null);
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        CompletableFuture<Authentication> future = executor.submit(() ->
+                SecurityContextHolder.getContext().getAuthentication());
+
+        // validators check data with permissions of the user who entered the value
+        assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(authentication);
+
+        // the context isn't left in the worker thread
+        SecurityContextHolder.clearContext();
+        CompletableFuture<Authentication> anonymous = executor.submit(() ->
+                SecurityContextHolder.getContext().getAuthentication());
+        assertThat(anonymous.get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    private static AsyncValidationExecutor createExecutor(int threads, int queueCapacity,
+                                                          Duration debounce, Duration timeout) {
+        LocstrProperties properties = new LocstrProperties(threads, queueCapacity, debounce, timeout,
+                3, Duration.ofHours(1), false, 64, 65536, false, 1000, 2000, null,
+                Duration.ofSeconds(1), 500, 1000);
+        return new AsyncValidationExecutor(properties);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.search.LocalizedStringAnalyzer;
+import com.glebfox.jmix.locstr.search.LocalizedStringIndex;
+import com.glebfox.jmix.locstr.search.LuceneIndexStore;
+import com.glebfox.jmix.locstr.search.SearchHit;
+import com.glebfox.jmix.locstr.testmodel.TestItem;
+import io.jmix.core.Metadata;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class FullTextIndexTest {
+
+    private static final Locale RU = Locale.forLanguageTag("ru");
+    private static final List<String> ATTRIBUTES = List.of("name", "description");
+
+    private final LocalizedStringAnalyzer analyzer = new LocalizedStringAnalyzer();
+
+    @Autowired
+    private UnconstrainedDataManager dataManager;
+    @Autowired
+    private Metadata metadata;
+    @Autowired
+    private LocalizedStringIndex localizedStringIndex;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void analyzerTest() {
+        // language analyzers remove stop words and reduce words to their stems
+        assertThat(analyzer.analyze("The black chairs", Locale.ENGLISH))
+                .containsExactly("black", "chair");
+        assertThat(analyzer.analyze("Чёрные стулья", RU))
+                .containsExactly("черн", "стул");
+        // ideographic texts are split into overlapping pairs
+        assertThat(analyzer.analyze("红色椅子", Locale.CHINESE))
+                .containsExactly("红色", "色椅", "椅子");
+        // other languages are only folded
+        assertThat(analyzer.analyze("Černá židle", Locale.forLanguageTag("cs")))
+                .containsExactly("cerna", "zidle");
+        assertThat(analyzer.analyze(" ,", Locale.ENGLISH)).isEmpty();
+    }
+
+    @Test
+    void searchTest() throws IOException {
+        try (LuceneIndexStore store = new LuceneIndexStore(FSDirectory.open(directory), analyzer)) {
+            store.update("Product", "1", Map.of("name", value("Black chair", "Чёрный стул")));
+            store.update("Product", "2", Map.of("name", value("Leather armchair", "Кожаное кресло"),
+                    "description", value("Black leather", "")));
+            store.update("Product", "3", Map.of("name", value("White table", "Белый стол")));
+            store.update("Order", "4", Map.of("name", value("Black chair", "")));
+            store.commit();
+
+            // all words must match, each in any attribute
+            assertThat(ids(store.search("Product", ATTRIBUTES, Locale.ENGLISH, "black chairs", false, 10)))
+                    .containsExactly("1");
+            assertThat(ids(store.search("Product", ATTRIBUTES, Locale.ENGLISH, "black leather", false, 10)))
+                    .containsExactly("2");
+            assertThat(ids(store.search("Product", List.of("name"), Locale.ENGLISH, "black", false, 10)))
+                    .containsExactly("1");
+
+            // the last word is a prefix
+            assertThat(ids(store.search("Product", ATTRIBUTES, Locale.ENGLISH, "lea", true, 10)))
+                    .containsExactly("2");
+            assertThat(store.search("Product", ATTRIBUTES, Locale.ENGLISH, "lea", false, 10)).isEmpty();
+
+            // values of other locales don't match
+            assertThat(ids(store.search("Product", ATTRIBUTES, RU, "стулья", false, 10))).containsExactly("1");
+            assertThat(store.search("Product", ATTRIBUTES, RU, "chair", false, 10)).isEmpty();
+
+            store.update("Product", "3", Map.of("name", value("Black table", "Чёрный стол")));
+            store.delete("Product", "1");
+            store.setCommitData("entity.Product", "1:name,description");
+            store.commit();
+            assertThat(ids(store.search("Product", ATTRIBUTES, Locale.ENGLISH, "black", false, 10)))
+                    .containsExactlyInAnyOrder("2", "3");
+        }
+
+        // committed documents and user data are persisted
+        try (LuceneIndexStore store = new LuceneIndexStore(FSDirectory.open(directory), analyzer)) {
+            assertThat(store.getCommitData("entity.Product")).isEqualTo("1:name,description");
+            assertThat(ids(store.search("Product", ATTRIBUTES, Locale.ENGLISH, "table", false, 10)))
+                    .containsExactly("3");
+
+            store.deleteAll("Product");
+            store.commit();
+            assertThat(store.search("Product", ATTRIBUTES, Locale.ENGLISH, "black", false, 10)).isEmpty();
+            assertThat(ids(store.search("Order", ATTRIBUTES, Locale.ENGLISH, "black", false, 10)))
+                    .containsExactly("4");
+        }
+    }
+
+    @Test
+    void entityChangesTest() throws InterruptedException {
+        MetaClass metaClass = metadata.getClass(TestItem.class);
+        await(() -> localizedStringIndex.isReady(metaClass));
+
+        TestItem item = dataManager.create(TestItem.class);
+        item.setName(value("Walnut bookcase", "Ореховый книжный шкаф"));
+        item = dataManager.save(item);
+
+        // saved and removed entities are applied to the index by the next flush
+        Object id = item.getId();
+        await(() -> ids(localizedStringIndex.search(TestItem.class, Locale.ENGLISH, "walnut")).contains(id));
+
+        dataManager.remove(item);
+        await(() -> !ids(localizedStringIndex.search(TestItem.class, Locale.ENGLISH, "walnut")).contains(id));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition is met in 10 seconds").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static LocalizedString value(String en, String ru) {
+        return new LocalizedString(Map.of(Locale.ENGLISH, en, RU, ru));
+    }
+
+    private static List<Object> ids(List<SearchHit> hits) {
+        return hits.stream()
+                .map(SearchHit::id)
+                .toList();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.backfill.LocaleBackfill;
+import com.glebfox.jmix.locstr.backfill.LocaleBackfillJob;
+import com.glebfox.jmix.locstr.backfill.LocaleBackfillMode;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.testmodel.TestItem;
+import io.jmix.core.Id;
+import io.jmix.core.UnconstrainedDataManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "jmix.core.available-locales=en,de",
+        // a chunk of 2 rows per second
+        "locstr.locale-backfill-chunk-size=2",
+        "locstr.locale-backfill-rows-per-second=2"
+})
+public class LocaleBackfillTest {
+
+    private static final Locale DE = Locale.GERMAN;
+
+    @Autowired
+    private UnconstrainedDataManager dataManager;
+    @Autowired
+    private LocaleBackfill localeBackfill;
+
+    @Test
+    void resumeTest() throws InterruptedException {
+        List<TestItem> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            TestItem item = dataManager.create(TestItem.class);
+            item.setName(new LocalizedString(Map.of(Locale.ENGLISH, "Item " + i)));
+            items.add(dataManager.save(item));
+        }
+
+        LocaleBackfillJob job = localeBackfill.start(DE, LocaleBackfillMode.COPY_SOURCE, Locale.ENGLISH);
+        await(() -> job.getProcessedRows() >= 2);
+        localeBackfill.cancel(job);
+        await(() -> !job.isActive());
+
+        assertThat(job.getStatus()).isEqualTo(LocaleBackfillJob.Status.CANCELLED);
+        assertThat(job.getProcessedRows()).isLessThan(items.size());
+        assertThat(job.getCheckpoints()).containsKey("locstr_TestItem.name");
+
+        // the resumed job continues after the checkpoint, so no row is processed twice
+        localeBackfill.resume(job);
+        await(() -> !job.isActive());
+
+        assertThat(job.getStatus()).isEqualTo(LocaleBackfillJob.Status.COMPLETED);
+        assertThat(job.getProcessedRows()).isEqualTo(items.size());
+        assertThat(job.getUpdatedRows()).isEqualTo(items.size());
+        for (TestItem item : items) {
+            TestItem loaded = dataManager.load(Id.of(item)).one();
+            assertThat(loaded.getName().getValue(DE)).isEqualTo(item.getName().getValue(Locale.ENGLISH));
+            assertThat(loaded.getVersion()).isEqualTo(item.getVersion() + 1);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition is met in 10 seconds").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
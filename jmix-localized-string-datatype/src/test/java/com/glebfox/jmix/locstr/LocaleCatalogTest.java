@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.locale.LocaleCatalog;
+import io.jmix.core.CoreProperties;
+import io.jmix.core.MessageTools;
+import io.jmix.core.security.CurrentAuthentication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LocaleCatalogTest {
+
+    private static final Locale DE = Locale.forLanguageTag("de");
+    private static final Locale DE_CH = Locale.forLanguageTag("de-CH");
+    private static final Locale DE_AT = Locale.forLanguageTag("de-AT");
+    private static final Locale FR = Locale.forLanguageTag("fr");
+
+    private CoreProperties coreProperties;
+    private LocaleCatalog localeCatalog;
+
+    @BeforeEach
+    void setUp() {
+        coreProperties = mock(CoreProperties.class);
+        when(coreProperties.getAvailableLocales()).thenReturn(List.of(Locale.ENGLISH, DE, DE_CH, FR));
+        localeCatalog = new LocaleCatalog(coreProperties, mock(MessageTools.class), mock(CurrentAuthentication.class));
+        localeCatalog.afterPropertiesSet();
+    }
+
+    @Test
+    void fallbackChainTest() {
+        // the locale itself, the locale of its language, other locales of the language, the first locale
+        assertThat(localeCatalog.getFallbackChain(DE_CH)).containsExactly(DE_CH, DE, Locale.ENGLISH);
+        assertThat(localeCatalog.getFallbackChain(DE)).containsExactly(DE, DE_CH, Locale.ENGLISH);
+        assertThat(localeCatalog.getFallbackChain(Locale.ENGLISH)).containsExactly(Locale.ENGLISH);
+        assertThat(localeCatalog.getFallbackChain(FR)).containsExactly(FR, Locale.ENGLISH);
+    }
+
+    @Test
+    void unavailableLocaleTest() {
+        assertThat(localeCatalog.contains(DE_AT)).isFalse();
+        assertThat(localeCatalog.getOrdinal(DE_AT)).isEqualTo(-1);
+        // values of the same language are preferred to the first locale
+        assertThat(localeCatalog.getFallbackChain(DE_AT)).containsExactly(DE, DE_CH, Locale.ENGLISH);
+        assertThat(localeCatalog.getFallbackChain(Locale.ITALIAN)).containsExactly(Locale.ENGLISH);
+    }
+
+    @Test
+    void canonicalLocaleTest() {
+        // equal locales created in other ways resolve to the available ones
+        assertThat(localeCatalog.getFallbackChain(new Locale("de", "CH"))).containsExactly(DE_CH, DE, Locale.ENGLISH);
+        assertThat(localeCatalog.findLocale("de_CH")).isEqualTo(DE_CH);
+        assertThat(localeCatalog.findLocale("de-CH")).isNull();
+    }
+
+    @Test
+    void refreshTest() {
+        when(coreProperties.getAvailableLocales()).thenReturn(List.of(FR, DE_CH, FR));
+        localeCatalog.refresh();
+
+        // duplicates are ignored
+        assertThat(localeCatalog.getLocales()).containsExactly(FR, DE_CH);
+        assertThat(localeCatalog.getOrdinal(DE_CH)).isEqualTo(1);
+        assertThat(localeCatalog.contains(DE)).isFalse();
+        assertThat(localeCatalog.getFallbackChain(DE)).containsExactly(DE_CH, FR);
+        assertThat(localeCatalog.getFallbackChain(DE_CH)).containsExactly(DE_CH, FR);
+    }
+}
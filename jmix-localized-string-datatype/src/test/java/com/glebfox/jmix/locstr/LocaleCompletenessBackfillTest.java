@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.completeness.LocaleCompletenessBackfill;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.testmodel.TestDocument;
+import io.jmix.core.Id;
+import io.jmix.core.UnconstrainedDataManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class LocaleCompletenessBackfillTest {
+
+    @Autowired
+    private UnconstrainedDataManager dataManager;
+    @Autowired
+    private LocaleCompletenessBackfill completenessBackfill;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void backfillTest() {
+        List<TestDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TestDocument document = dataManager.create(TestDocument.class);
+            document.setTitle(new LocalizedString(Map.of(Locale.ENGLISH, i % 2 == 0 ? "Document " + i : " ")));
+            documents.add(dataManager.save(document));
+        }
+        // rows created before the mask column was added
+        jdbcTemplate.update("update LOCSTR_TEST_DOCUMENT set TITLE_COMPLETENESS = null");
+
+        // 3 chunks of at most 2 rows
+        assertThat(completenessBackfill.backfill(TestDocument.class, 2)).isEqualTo(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            TestDocument document = dataManager.load(Id.of(documents.get(i))).one();
+            assertThat(document.getTitleCompleteness()).isEqualTo(i % 2 == 0 ? 1 : 0);
+        }
+
+        // a repeated or interrupted backfill updates only rows whose masks differ
+        jdbcTemplate.update("update LOCSTR_TEST_DOCUMENT set TITLE_COMPLETENESS = null where ID = ?",
+                documents.get(3).getId());
+        assertThat(completenessBackfill.backfill(TestDocument.class, 2)).isEqualTo(1);
+        assertThat(completenessBackfill.backfill(TestDocument.class, 2)).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.completeness.LocaleCompletenessSupport;
+import com.glebfox.jmix.locstr.locale.LocaleCatalog;
+import io.jmix.core.CoreProperties;
+import io.jmix.core.MessageTools;
+import io.jmix.core.Metadata;
+import io.jmix.core.security.CurrentAuthentication;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LocaleCompletenessSupportTest {
+
+    @Test
+    void enumeratedMasksTest() {
+        LocaleCompletenessSupport support = createSupport(List.of(Locale.ENGLISH, Locale.GERMAN));
+
+        assertThat(support.createPredicate("e.mask", Locale.GERMAN, true))
+                .isEqualTo("e.mask in (2, 3)");
+        assertThat(support.createPredicate("e.mask", Locale.GERMAN, false))
+                .isEqualTo("(e.mask is null or e.mask in (0, 1))");
+    }
+
+    @Test
+    void arithmeticMasksTest() {
+        List<Locale> locales = List.of("en", "de", "fr", "es", "it", "pt", "nl", "pl", "cs").stream()
+                .map(Locale::forLanguageTag)
+                .toList();
+        LocaleCompletenessSupport support = createSupport(locales);
+
+        // the quotient is floored, as some databases return a decimal when integers are divided
+        assertThat(support.createPredicate("e.mask", Locale.forLanguageTag("cs"), true))
+                .isEqualTo("MOD(FLOOR(e.mask / 256), 2) = 1");
+        assertThat(support.createPredicate("e.mask", Locale.forLanguageTag("de"), false))
+                .isEqualTo("(e.mask is null or MOD(FLOOR(e.mask / 2), 2) = 0)");
+    }
+
+    @Test
+    void refreshTest() {
+        CoreProperties coreProperties = mock(CoreProperties.class);
+        when(coreProperties.getAvailableLocales()).thenReturn(List.of(Locale.ENGLISH, Locale.GERMAN));
+        LocaleCatalog localeCatalog = createCatalog(coreProperties);
+        LocaleCompletenessSupport support = new LocaleCompletenessSupport(mock(Metadata.class), localeCatalog);
+        assertThat(support.getBit(Locale.GERMAN)).isEqualTo(2);
+
+        when(coreProperties.getAvailableLocales()).thenReturn(List.of(Locale.GERMAN, Locale.ENGLISH, Locale.FRENCH));
+        localeCatalog.refresh();
+
+        assertThat(support.getLocales()).containsExactly(Locale.GERMAN, Locale.ENGLISH, Locale.FRENCH);
+        assertThat(support.getBit(Locale.GERMAN)).isEqualTo(1);
+        assertThat(support.getBit(Locale.FRENCH)).isEqualTo(4);
+    }
+
+    private static LocaleCompletenessSupport createSupport(List<Locale> locales) {
+        CoreProperties coreProperties = mock(CoreProperties.class);
+        when(coreProperties.getAvailableLocales()).thenReturn(locales);
+        return new LocaleCompletenessSupport(mock(Metadata.class), createCatalog(coreProperties));
+    }
+
+    private static LocaleCatalog createCatalog(CoreProperties coreProperties) {
+        LocaleCatalog localeCatalog = new LocaleCatalog(coreProperties,
+                mock(MessageTools.class), mock(CurrentAuthentication.class));
+        localeCatalog.afterPropertiesSet();
+        return localeCatalog;
+    }
+}
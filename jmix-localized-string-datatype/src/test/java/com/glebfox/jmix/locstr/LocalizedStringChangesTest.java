@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.event.LocalizedStringChanges;
+import com.glebfox.jmix.locstr.testmodel.TestItem;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.event.EntityChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class LocalizedStringChangesTest {
+
+    private static final Locale DE = Locale.GERMAN;
+    private static final Locale FR = Locale.FRENCH;
+    private static final Locale IT = Locale.ITALIAN;
+
+    @Autowired
+    private UnconstrainedDataManager dataManager;
+    @Autowired
+    private ChangedLocalesListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener.beforeCommit.clear();
+        listener.afterCommit.clear();
+    }
+
+    @Test
+    void changedLocalesTest() {
+        TestItem item = dataManager.create(TestItem.class);
+        item.setName(new LocalizedString(Map.of(Locale.ENGLISH, "Chair", DE, "Stuhl", FR, "Chaise")));
+        item = dataManager.save(item);
+
+        assertThat(listener.beforeCommit.get(EntityChangedEvent.Type.CREATED))
+                .containsExactlyInAnyOrder(Locale.ENGLISH, DE, FR);
+        assertThat(listener.afterCommit.get(EntityChangedEvent.Type.CREATED))
+                .containsExactlyInAnyOrder(Locale.ENGLISH, DE, FR);
+
+        // English is unchanged, German is changed, French is removed and Italian is added
+        item.setName(new LocalizedString(Map.of(Locale.ENGLISH, "Chair", DE, "Sessel", IT, "Sedia")));
+        item = dataManager.save(item);
+
+        assertThat(listener.beforeCommit.get(EntityChangedEvent.Type.UPDATED))
+                .containsExactlyInAnyOrder(DE, FR, IT);
+        assertThat(listener.afterCommit.get(EntityChangedEvent.Type.UPDATED))
+                .containsExactlyInAnyOrder(DE, FR, IT);
+
+        dataManager.remove(item);
+
+        assertThat(listener.afterCommit.get(EntityChangedEvent.Type.DELETED))
+                .containsExactlyInAnyOrder(Locale.ENGLISH, DE, IT);
+        // the changes are released after the after-commit listeners
+        assertThat(TransactionSynchronizationManager.hasResource(
+                LocalizedStringChanges.class.getName() + ".changedLocales")).isFalse();
+    }
+
+    @TestConfiguration
+    static class ChangedLocalesListenerConfiguration {
+
+        @Bean
+        ChangedLocalesListener changedLocalesListener(LocalizedStringChanges localizedStringChanges) {
+            return new ChangedLocalesListener(localizedStringChanges);
+        }
+    }
+
+    static class ChangedLocalesListener {
+
+        final LocalizedStringChanges localizedStringChanges;
+
+        final Map<EntityChangedEvent.Type, Set<Locale>> beforeCommit = new HashMap<>();
+        final Map<EntityChangedEvent.Type, Set<Locale>> afterCommit = new HashMap<>();
+
+        ChangedLocalesListener(LocalizedStringChanges localizedStringChanges) {
+            this.localizedStringChanges = localizedStringChanges;
+        }
+
+        @EventListener
+        void onTestItemChangedBeforeCommit(EntityChangedEvent<TestItem> event) {
+            beforeCommit.put(event.getType(), localizedStringChanges.getChangedLocales(event, "name"));
+        }
+
+        @TransactionalEventListener
+        void onTestItemChangedAfterCommit(EntityChangedEvent<TestItem> event) {
+            afterCommit.put(event.getType(), localizedStringChanges.getChangedLocales(event, "name"));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.migration.LocalizedStringColumnMigration;
+import com.glebfox.jmix.locstr.migration.LocalizedStringMigrationException;
+import com.glebfox.jmix.locstr.migration.LocalizedStringMigrationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LocalizedStringColumnMigrationTest {
+
+    private static final int ROWS = 2500;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:hsqldb:mem:migration-" + UUID.randomUUID() + ";hsqldb.tx=mvcc", "SA", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table PRODUCT (ID integer primary key, NAME varchar(255), NAME_LOC clob)");
+        for (int i = 0; i < ROWS; i++) {
+            // every tenth product has no name
+            jdbcTemplate.update("insert into PRODUCT (ID, NAME) values (?, ?)", i, i % 10 == 0 ? null : "Name " + i);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("shutdown");
+    }
+
+    @Test
+    void migrateToTargetColumnTest() {
+        LocalizedStringMigrationResult result = createMigration("NAME_LOC").migrateAndVerify();
+
+        assertThat(result.chunks()).isEqualTo(9);
+        assertThat(result.skippedChunks()).isZero();
+        assertThat(result.convertedRows()).isEqualTo(ROWS - ROWS / 10);
+        assertThat(result.mismatchedRows()).isZero();
+
+        String json = jdbcTemplate.queryForObject("select NAME_LOC from PRODUCT where ID = 7", String.class);
+        assertThat(LocalizedString.fromJson(json).getValue(Locale.ENGLISH)).isEqualTo("Name 7");
+        assertThat(jdbcTemplate.queryForObject("select NAME_LOC from PRODUCT where ID = 10", String.class)).isNull();
+
+        // completed ranges are skipped by a repeated run
+        LocalizedStringMigrationResult repeated = createMigration("NAME_LOC").migrate();
+        assertThat(repeated.skippedChunks()).isEqualTo(9);
+        assertThat(repeated.convertedRows()).isZero();
+    }
+
+    @Test
+    void migrateInPlaceTest() {
+        String longName = "x".repeat(255);
+        jdbcTemplate.update("update PRODUCT set NAME = ? where ID = 1", longName);
+        jdbcTemplate.execute("alter table PRODUCT alter column NAME set data type clob");
+
+        assertThat(createMigration("NAME").migrateAndVerify().convertedRows()).isEqualTo(ROWS - ROWS / 10);
+
+        String json = jdbcTemplate.queryForObject("select NAME from PRODUCT where ID = 7", String.class);
+        assertThat(LocalizedString.fromJson(json).getValue(Locale.ENGLISH)).isEqualTo("Name 7");
+        json = jdbcTemplate.queryForObject("select NAME from PRODUCT where ID = 1", String.class);
+        assertThat(LocalizedString.fromJson(json).getValue(Locale.ENGLISH)).isEqualTo(longName);
+
+        // converted values aren't converted again even without checkpoints
+        jdbcTemplate.update("delete from " + LocalizedStringColumnMigration.CHECKPOINT_TABLE);
+        assertThat(createMigration("NAME").migrate().convertedRows()).isZero();
+    }
+
+    @Test
+    void migrateInPlaceWithoutClobTest() {
+        jdbcTemplate.update("update PRODUCT set NAME = ? where ID = 1", "x".repeat(255));
+
+        assertThatThrownBy(() -> createMigration("NAME").migrate())
+                .isInstanceOf(LocalizedStringMigrationException.class);
+    }
+
+    @Test
+    void verifyTest() {
+        createMigration("NAME_LOC").migrate();
+        jdbcTemplate.update("update PRODUCT set NAME_LOC = '{\"en\":\"Other\"}' where ID in (1, 2)");
+
+        assertThat(createMigration("NAME_LOC").verify()).isEqualTo(2);
+    }
+
+    private LocalizedStringColumnMigration createMigration(String targetColumn) {
+        return new LocalizedStringColumnMigration(dataSource, "PRODUCT", "ID", "NAME", targetColumn, Locale.ENGLISH)
+                .withChunkSize(300)
+                .withBatchSize(100)
+                .withThreads(4);
+    }
+}
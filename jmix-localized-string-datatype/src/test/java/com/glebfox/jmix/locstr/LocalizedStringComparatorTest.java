@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.datatype.LocalizedStringComparator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalizedStringComparatorTest {
+
+    @Test
+    void sortTest() {
+        LocalizedString apfel = new LocalizedString(Map.of(Locale.GERMAN, "Apfel", Locale.ENGLISH, "Apple"));
+        LocalizedString aepfel = new LocalizedString(Map.of(Locale.GERMAN, "Äpfel"));
+        LocalizedString birne = new LocalizedString(Map.of(Locale.GERMAN, "Birne", Locale.ENGLISH, "Pear"));
+        LocalizedStringComparator comparator = new LocalizedStringComparator(Locale.GERMAN);
+
+        List<LocalizedString> items = new ArrayList<>(Arrays.asList(birne, null, aepfel, apfel));
+        comparator.sort(items, Function.identity(), false);
+        assertThat(items).containsExactly(null, apfel, aepfel, birne);
+
+        comparator.sort(items, Function.identity(), true);
+        assertThat(items).containsExactly(birne, aepfel, apfel, null);
+
+        List<LocalizedString> compared = new ArrayList<>(Arrays.asList(birne, null, aepfel, apfel));
+        compared.sort(comparator);
+        assertThat(compared).containsExactly(null, apfel, aepfel, birne);
+    }
+}
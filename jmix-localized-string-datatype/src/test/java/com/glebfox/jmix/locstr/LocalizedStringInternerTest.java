@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.datatype.LocalizedStringInterner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalizedStringInternerTest {
+
+    @Test
+    void hitTest() {
+        LocalizedStringInterner interner = createInterner(true, 16, 16);
+
+        String first = interner.intern(new String("Black"));
+        String second = interner.intern(new String("Black"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(interner.getStats().hits()).isEqualTo(1);
+        assertThat(interner.getStats().misses()).isEqualTo(1);
+        assertThat(interner.getStats().size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictionTest() {
+        LocalizedStringInterner interner = createInterner(true, 16, 16);
+
+        // values are kept reachable, so each miss either fills an empty slot or evicts a value
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(interner.intern("Size " + i));
+        }
+
+        LocalizedStringInterner.Stats stats = interner.getStats();
+        assertThat(stats.misses()).isEqualTo(values.size());
+        assertThat(stats.size()).isLessThanOrEqualTo(16);
+        assertThat(stats.evictions()).isEqualTo(values.size() - stats.size());
+    }
+
+    @Test
+    void maxLengthTest() {
+        LocalizedStringInterner interner = createInterner(true, 5, 16);
+
+        String shortValue = interner.intern(new String("Black"));
+        assertThat(interner.intern(new String("Black"))).isSameAs(shortValue);
+
+        String longValue = interner.intern(new String("Yellow"));
+        assertThat(interner.intern(new String("Yellow"))).isNotSameAs(longValue);
+        assertThat(interner.getStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledTest() {
+        LocalizedStringInterner interner = createInterner(false, 16, 16);
+
+        String value = new String("Black");
+        interner.intern("Black");
+
+        assertThat(interner.isEnabled()).isFalse();
+        assertThat(interner.intern(value)).isSameAs(value);
+        assertThat(interner.getStats().misses()).isZero();
+    }
+
+    @Test
+    void fromJsonTest() {
+        LocalizedStringInterner interner = createInterner(true, 16, 16);
+
+        LocalizedString first = LocalizedString.fromJson("{\"en\":\"Black\",\"de\":\"Schwarz\"}", interner);
+        LocalizedString second = LocalizedString.fromJson("{\"en\":\"Black\"}", interner);
+
+        assertThat(second.getValue(Locale.ENGLISH)).isSameAs(first.getValue(Locale.ENGLISH));
+        assertThat(LocalizedString.fromJson("{\"en\":\"Black\"}").getValue(Locale.ENGLISH))
+                .isNotSameAs(first.getValue(Locale.ENGLISH));
+    }
+
+    @Test
+    void metricsTest() {
+        LocalizedStringInterner interner = createInterner(true, 16, 16);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        interner.bindTo(registry);
+
+        String value = interner.intern("Black");
+        interner.intern(new String("Black"));
+
+        assertThat(registry.get("locstr.interner.hits").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("locstr.interner.misses").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("locstr.interner.evictions").functionCounter().count()).isZero();
+        assertThat(registry.get("locstr.interner.size").gauge().value()).isEqualTo(1);
+        assertThat(value).isNotNull();
+    }
+
+    private static LocalizedStringInterner createInterner(boolean enabled, int maxLength, int tableSize) {
+        LocstrProperties properties = new LocstrProperties(4, 1000, Duration.ofMillis(300), Duration.ofSeconds(10),
+                3, Duration.ofHours(1), enabled, maxLength, tableSize, false, 1000, 2000, null,
+                Duration.ofSeconds(1), 500, 1000);
+        LocalizedStringInterner interner = new LocalizedStringInterner(properties);
+        interner.afterPropertiesSet();
+        return interner;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.merge.LocalizedStringMerge;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalizedStringMergeTest {
+
+    private static final Locale DE = Locale.GERMAN;
+    private static final Locale FR = Locale.FRENCH;
+
+    @Test
+    void disjointLocalesTest() {
+        LocalizedString original = new LocalizedString(Map.of(Locale.ENGLISH, "Hello"));
+        // the edit action stores empty values of locales left blank
+        LocalizedString theirs = new LocalizedString(Map.of(Locale.ENGLISH, "Hello", DE, "Hallo", FR, ""));
+        LocalizedString mine = new LocalizedString(Map.of(Locale.ENGLISH, "Hello", DE, "", FR, "Bonjour"));
+
+        LocalizedStringMerge merge = LocalizedStringMerge.of(original, theirs, mine);
+
+        assertThat(merge.hasConflicts()).isFalse();
+        assertThat(merge.value()).isEqualTo(
+                new LocalizedString(Map.of(Locale.ENGLISH, "Hello", DE, "Hallo", FR, "Bonjour")));
+    }
+
+    @Test
+    void conflictTest() {
+        LocalizedString original = new LocalizedString(Map.of(Locale.ENGLISH, "Hello", DE, "Hallo"));
+        LocalizedString theirs = new LocalizedString(Map.of(Locale.ENGLISH, "Hi", DE, "Hallo"));
+        LocalizedString mine = new LocalizedString(Map.of(Locale.ENGLISH, "Hey", DE, "Servus"));
+
+        LocalizedStringMerge merge = LocalizedStringMerge.of(original, theirs, mine);
+
+        assertThat(merge.conflicts()).containsExactly(Locale.ENGLISH);
+        assertThat(merge.value()).isEqualTo(new LocalizedString(Map.of(Locale.ENGLISH, "Hey", DE, "Servus")));
+    }
+
+    @Test
+    void nullOriginalTest() {
+        LocalizedString theirs = new LocalizedString(Map.of(DE, "Hallo", FR, ""));
+        LocalizedString mine = new LocalizedString(Map.of(DE, "", FR, "Bonjour"));
+
+        LocalizedStringMerge merge = LocalizedStringMerge.of(null, theirs, mine);
+        assertThat(merge.hasConflicts()).isFalse();
+        assertThat(merge.value()).isEqualTo(new LocalizedString(Map.of(DE, "Hallo", FR, "Bonjour")));
+
+        merge = LocalizedStringMerge.of(null, theirs, new LocalizedString(Map.of(DE, "Guten Tag")));
+        assertThat(merge.conflicts()).containsExactly(DE);
+
+        merge = LocalizedStringMerge.of(null, null, mine);
+        assertThat(merge.hasConflicts()).isFalse();
+        assertThat(merge.value()).isEqualTo(mine);
+    }
+}
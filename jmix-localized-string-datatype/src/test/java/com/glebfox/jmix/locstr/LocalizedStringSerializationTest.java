@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalizedStringSerializationTest {
+
+    // {"en":"a"} serialized with the default form of version 1.0.0
+    private static final String DEFAULT_FORM =
+            "rO0ABXNyADBjb20uZ2xlYmZveC5qbWl4LmxvY3N0ci5kYXRhdHlwZS5Mb2NhbGl6ZWRTdHJpbmcJ"
+                    + "DALZTIowPQIAAUwABnZhbHVlc3QAD0xqYXZhL3V0aWwvTWFwO3hwc3IAEWphdmEudXRpbC5IYXNo"
+                    + "TWFwBQfawcMWYNEDAAJGAApsb2FkRmFjdG9ySQAJdGhyZXNob2xkeHA/QAAAAAAAAXcIAAAAAgAA"
+                    + "AAFzcgAQamF2YS51dGlsLkxvY2FsZX74EWCcMPnsAwAGSQAIaGFzaGNvZGVMAAdjb3VudHJ5dAAS"
+                    + "TGphdmEvbGFuZy9TdHJpbmc7TAAKZXh0ZW5zaW9uc3EAfgAGTAAIbGFuZ3VhZ2VxAH4ABkwABnNj"
+                    + "cmlwdHEAfgAGTAAHdmFyaWFudHEAfgAGeHD/////dAAAcQB+AAh0AAJlbnEAfgAIcQB+AAh4dAAB"
+                    + "YXg=";
+
+    @Test
+    void compactFormTest() throws Exception {
+        Map<Locale, String> values = new HashMap<>();
+        values.put(Locale.ENGLISH, "Chair");
+        values.put(Locale.forLanguageTag("ru-RU"), "Стул");
+        values.put(Locale.forLanguageTag("zh-Hant-TW"), "椅子");
+        LocalizedString localizedString = new LocalizedString(values);
+
+        byte[] data = serialize(localizedString);
+        assertThat(deserialize(data)).isEqualTo(localizedString);
+        assertThat(data.length).isLessThan(serialize(new HashMap<>(values)).length);
+
+        // longer than the limit of DataOutput.writeUTF
+        values.put(Locale.GERMAN, "x".repeat(70_000));
+        LocalizedString longString = new LocalizedString(values);
+        assertThat(deserialize(serialize(longString))).isEqualTo(longString);
+
+        LocalizedString empty = new LocalizedString(Map.of());
+        assertThat(deserialize(serialize(empty))).isEqualTo(empty);
+    }
+
+    @Test
+    void localeKeyTest() throws Exception {
+        // valid JSON keys that are not language tags and would both be written as "und"
+        LocalizedString localizedString = LocalizedString.fromJson("{\"legacylang\":\"a\",\"otherlegacy\":\"b\",\"en_US_POSIX\":\"c\"}");
+
+        LocalizedString deserialized = (LocalizedString) deserialize(serialize(localizedString));
+
+        assertThat(deserialized).isEqualTo(localizedString);
+        assertThat(deserialized.getLocales()).hasSize(3);
+    }
+
+    @Test
+    void defaultFormTest() throws Exception {
+        Object value = deserialize(Base64.getDecoder().decode(DEFAULT_FORM));
+
+        assertThat(value).isEqualTo(new LocalizedString(Map.of(Locale.ENGLISH, "a")));
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+}
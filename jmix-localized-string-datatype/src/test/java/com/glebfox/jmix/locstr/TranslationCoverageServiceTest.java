@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr;
+
+import com.glebfox.jmix.locstr.coverage.TranslationCoverage;
+import com.glebfox.jmix.locstr.coverage.TranslationCoverageService;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import com.glebfox.jmix.locstr.testmodel.TestItem;
+import io.jmix.core.Metadata;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class TranslationCoverageServiceTest {
+
+    @Autowired
+    private UnconstrainedDataManager dataManager;
+    @Autowired
+    private Metadata metadata;
+    @Autowired
+    private TranslationCoverageService coverageService;
+
+    @Test
+    void incrementalCoverageTest() {
+        MetaClass metaClass = metadata.getClass(TestItem.class);
+        TestItem blank = save(dataManager.create(TestItem.class), "  ");
+        TestItem empty = save(dataManager.create(TestItem.class), "");
+        save(dataManager.create(TestItem.class), "Chair");
+        save(dataManager.create(TestItem.class), null);
+
+        // counters are cached and then updated incrementally
+        assertThat(coverageService.getCoverage(metaClass))
+                .containsExactly(new TranslationCoverage("name", Locale.ENGLISH, 2, 4));
+
+        // a whitespace value is already counted as translated by the query
+        save(blank, "Table");
+        empty = save(empty, " ");
+        TestItem lamp = save(dataManager.create(TestItem.class), "Lamp");
+        List<TranslationCoverage> incremental = coverageService.getCoverage(metaClass);
+
+        coverageService.refresh(metaClass);
+        assertThat(coverageService.getCoverage(metaClass)).isEqualTo(incremental);
+        assertThat(incremental).containsExactly(new TranslationCoverage("name", Locale.ENGLISH, 4, 5));
+
+        // removed entities are subtracted
+        dataManager.remove(lamp);
+        dataManager.remove(empty);
+        incremental = coverageService.getCoverage(metaClass);
+
+        coverageService.refresh(metaClass);
+        assertThat(coverageService.getCoverage(metaClass)).isEqualTo(incremental);
+        assertThat(incremental).containsExactly(new TranslationCoverage("name", Locale.ENGLISH, 2, 3));
+    }
+
+    private TestItem save(TestItem item, @Nullable String value) {
+        item.setName(value != null ? new LocalizedString(Map.of(Locale.ENGLISH, value)) : null);
+        return dataManager.save(item);
+    }
+}
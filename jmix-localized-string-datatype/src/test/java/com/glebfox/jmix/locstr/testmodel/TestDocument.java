@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 Gleb Gorelov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.glebfox.jmix.locstr.testmodel;
+
+import com.glebfox.jmix.locstr.completeness.LocaleCompleteness;
+import com.glebfox.jmix.locstr.datatype.LocalizedString;
+import io.jmix.core.entity.annotation.JmixGeneratedValue;
+import io.jmix.core.metamodel.annotation.JmixEntity;
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+@JmixEntity
+@Table(name = "LOCSTR_TEST_DOCUMENT")
+@Entity(name = "locstr_TestDocument")
+public class TestDocument {
+    @JmixGeneratedValue
+    @Column(name = "ID", nullable = false)
+    @Id
+    private UUID id;
+
+    @Lob
+    @Column(name = "TITLE")
+    private LocalizedString title;
+
+    @LocaleCompleteness("title")
+    @Column(name = "TITLE_COMPLETENESS")
+    private Integer titleCompleteness;
+
+    public Integer getTitleCompleteness() {
+        return titleCompleteness;
+    }
+
+    public void setTitleCompleteness(Integer titleCompleteness) {
+        this.titleCompleteness = titleCompleteness;
+    }
+
+    public LocalizedString getTitle() {
+        return title;
+    }
+
+    public void setTitle(LocalizedString title) {
+        this.title = title;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+}